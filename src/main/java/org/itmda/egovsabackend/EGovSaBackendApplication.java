@@ -2,8 +2,10 @@ package org.itmda.egovsabackend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EGovSaBackendApplication {
 
     public static void main(String[] args) {
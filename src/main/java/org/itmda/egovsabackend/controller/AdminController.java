@@ -1,24 +1,42 @@
 package org.itmda.egovsabackend.controller;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.itmda.egovsabackend.dto.AdminActionDto;
 import org.itmda.egovsabackend.dto.AdminApplicationDto;
+import org.itmda.egovsabackend.dto.AdminApplicationFilter;
 import org.itmda.egovsabackend.dto.AdminStatisticsDto;
+import org.itmda.egovsabackend.dto.AdminUserDto;
+import org.itmda.egovsabackend.dto.AnalyticsBucketDto;
+import org.itmda.egovsabackend.dto.BulkActionResultDto;
+import org.itmda.egovsabackend.dto.BulkApplicationActionRequest;
+import org.itmda.egovsabackend.dto.CursorPage;
+import org.itmda.egovsabackend.dto.ReviewClaimDto;
 import org.itmda.egovsabackend.dto.UpdateApplicationStatusRequest;
-import org.itmda.egovsabackend.entity.Profile;
 import org.itmda.egovsabackend.service.AdminService;
+import org.itmda.egovsabackend.service.AnalyticsService;
+import org.itmda.egovsabackend.service.ApplicationExportService;
+import org.itmda.egovsabackend.service.ReviewQueueService;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -28,6 +46,9 @@ import lombok.RequiredArgsConstructor;
 public class AdminController {
     
     private final AdminService adminService;
+    private final AnalyticsService analyticsService;
+    private final ApplicationExportService exportService;
+    private final ReviewQueueService reviewQueueService;
     
     /**
      * Get all applications with pagination and filtering
@@ -38,6 +59,9 @@ public class AdminController {
      * @param status Filter by status (optional)
      * @param serviceType Filter by service type (optional)
      * @param searchTerm Search term for applicant name/ID/reference (optional)
+     * @param dataPath SQL/JSON path predicate on the form data, e.g. $.province == "Gauteng" (optional)
+     * @param dataFields Only return these top-level keys of the form data (optional)
+     * @param includeData Whether to return the form data at all (default true)
      * @return Paginated list of applications
      */
     @GetMapping("/applications")
@@ -47,12 +71,90 @@ public class AdminController {
             @RequestParam(defaultValue = "submittedAt") String sortBy,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String serviceType,
-            @RequestParam(required = false) String searchTerm) {
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String dataPath,
+            @RequestParam(required = false) List<String> dataFields,
+            @RequestParam(defaultValue = "true") boolean includeData) {
         
-        Page<AdminApplicationDto> applications = adminService.getAllApplications(
-            page, size, sortBy, status, serviceType, searchTerm);
+        try {
+            Page<AdminApplicationDto> applications = adminService.getAllApplications(page, size, sortBy,
+                buildFilter(status, serviceType, searchTerm, dataPath, dataFields, includeData));
+            return ResponseEntity.ok(applications);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get applications using keyset (cursor) pagination.
+     * Prefer this over the paged endpoint for deep or large listings.
+     * 
+     * @param size Page size (default 20)
+     * @param sortBy Sort field: createdAt, submittedAt or updatedAt (default "submittedAt")
+     * @param status Filter by status (optional)
+     * @param serviceType Filter by service type (optional)
+     * @param searchTerm Search term for applicant name/ID/reference (optional)
+     * @param dataPath SQL/JSON path predicate on the form data (optional)
+     * @param dataFields Only return these top-level keys of the form data (optional)
+     * @param includeData Whether to return the form data at all (default true)
+     * @param cursor Opaque cursor from the previous response's nextCursor (optional)
+     * @param includeTotal Whether to also count all matching rows (default false)
+     * @return Applications after the cursor plus the cursor for the next page
+     */
+    @GetMapping("/applications/keyset")
+    public ResponseEntity<CursorPage<AdminApplicationDto>> getApplicationsKeyset(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "submittedAt") String sortBy,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String serviceType,
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String dataPath,
+            @RequestParam(required = false) List<String> dataFields,
+            @RequestParam(defaultValue = "true") boolean includeData,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
-        return ResponseEntity.ok(applications);
+        try {
+            CursorPage<AdminApplicationDto> applications = adminService.getApplicationsAfter(size, sortBy,
+                buildFilter(status, serviceType, searchTerm, dataPath, dataFields, includeData), cursor, includeTotal);
+            return ResponseEntity.ok(applications);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Stream all matching applications with applicant details.
+     * Runs as an async task with its own (long) timeout; other async endpoints keep the default.
+     * 
+     * @param format "csv" or "ndjson" (default "csv")
+     * @param status Filter by status (optional)
+     * @param serviceType Filter by service type (optional)
+     * @return Streaming CSV/NDJSON download
+     */
+    @GetMapping("/applications/export")
+    public WebAsyncTask<Void> exportApplications(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String serviceType,
+            HttpServletResponse response) throws IOException {
+        
+        boolean csv;
+        try {
+            csv = exportService.isCsv(format);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return null;
+        }
+        
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, 
+            "attachment; filename=\"applications." + (csv ? "csv" : "ndjson") + "\"");
+        
+        return new WebAsyncTask<>(exportService.getTimeoutMs(), () -> {
+            exportService.export(response.getOutputStream(), format, status, serviceType);
+            return null;
+        });
     }
     
     /**
@@ -66,6 +168,31 @@ public class AdminController {
         return ResponseEntity.ok(statistics);
     }
     
+    /**
+     * Get time-bucketed application analytics from the pre-aggregated rollups
+     * 
+     * @param from First day to include (inclusive)
+     * @param to Last day to include (inclusive)
+     * @param granularity "day" or "week" (default "day")
+     * @param serviceType Filter by service type (optional)
+     * @return Submitted, completed and rejected counts plus average completion time per bucket
+     */
+    @GetMapping("/analytics/applications")
+    public ResponseEntity<List<AnalyticsBucketDto>> getApplicationAnalytics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) String serviceType) {
+        
+        try {
+            List<AnalyticsBucketDto> analytics = analyticsService.getApplicationAnalytics(
+                from, to, granularity, serviceType);
+            return ResponseEntity.ok(analytics);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Approve an application
      * 
@@ -79,7 +206,10 @@ public class AdminController {
             @RequestBody(required = false) UpdateApplicationStatusRequest request) {
         
         String notes = request != null ? request.getNotes() : null;
-        AdminApplicationDto updated = adminService.approveApplication(id, notes);
+        String expectedStatus = request != null ? request.getExpectedStatus() : null;
+        Long expectedVersion = request != null ? request.getExpectedVersion() : null;
+        UUID reviewerId = request != null ? request.getReviewerId() : null;
+        AdminApplicationDto updated = adminService.approveApplication(id, reviewerId, notes, expectedStatus, expectedVersion);
         
         return ResponseEntity.ok(updated);
     }
@@ -97,7 +227,10 @@ public class AdminController {
             @RequestBody(required = false) UpdateApplicationStatusRequest request) {
         
         String notes = request != null ? request.getNotes() : null;
-        AdminApplicationDto updated = adminService.rejectApplication(id, notes);
+        String expectedStatus = request != null ? request.getExpectedStatus() : null;
+        Long expectedVersion = request != null ? request.getExpectedVersion() : null;
+        UUID reviewerId = request != null ? request.getReviewerId() : null;
+        AdminApplicationDto updated = adminService.rejectApplication(id, reviewerId, notes, expectedStatus, expectedVersion);
         
         return ResponseEntity.ok(updated);
     }
@@ -115,19 +248,147 @@ public class AdminController {
             @RequestBody UpdateApplicationStatusRequest request) {
         
         AdminApplicationDto updated = adminService.updateApplicationStatus(
-            id, request.getStatus(), request.getCurrentStep(), request.getNotes());
+            id, request.getReviewerId(), request.getStatus(), request.getCurrentStep(), request.getNotes(),
+            request.getExpectedStatus(), request.getExpectedVersion());
         
         return ResponseEntity.ok(updated);
     }
     
     /**
-     * Get all users
+     * Apply the same action to many applications in one request
+     * 
+     * @param request Application IDs, action (APPROVE, REJECT, UPDATE_STATUS) and optional status/step/notes
+     * @return Per-application result
+     */
+    @PostMapping("/applications/bulk")
+    public ResponseEntity<List<BulkActionResultDto>> bulkUpdateApplications(
+            @RequestBody BulkApplicationActionRequest request) {
+        
+        try {
+            List<BulkActionResultDto> results = adminService.bulkUpdateApplications(request);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Claim the next applications waiting for review. Concurrent reviewers
+     * receive disjoint batches; claims expire after the configured lease.
+     * 
+     * @param reviewerId Reviewer taking the applications
+     * @param count Number of applications wanted (default 10)
+     * @return Claimed applications, oldest first
+     */
+    @PostMapping("/review-queue/claim")
+    public ResponseEntity<List<ReviewClaimDto>> claimApplications(
+            @RequestParam UUID reviewerId,
+            @RequestParam(defaultValue = "10") int count) {
+        
+        try {
+            List<ReviewClaimDto> claimed = reviewQueueService.claimNext(reviewerId, count);
+            return ResponseEntity.ok(claimed);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Return a claimed application to the review queue
      * 
-     * @return List of all user profiles
+     * @param id Application ID
+     * @param reviewerId Reviewer holding the claim
+     * @return 204 when released, 409 if the reviewer doesn't hold the claim
+     */
+    @PostMapping("/review-queue/{id}/release")
+    public ResponseEntity<Void> releaseApplication(
+            @PathVariable UUID id,
+            @RequestParam UUID reviewerId) {
+        
+        reviewQueueService.release(id, reviewerId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Query the admin audit log
+     * 
+     * @param applicationId Filter by application (optional)
+     * @param userId Filter by affected user (optional)
+     * @param actionType Filter by action type, e.g. APPROVE (optional)
+     * @param from Start of the time range, inclusive (optional; unscoped queries default to the last 30 days)
+     * @param to End of the time range, exclusive (optional)
+     * @param size Page size (default 50, max 200)
+     * @param cursor Opaque cursor from the previous response's nextCursor (optional)
+     * @return Admin actions, newest first, plus the cursor for the next page
+     */
+    @GetMapping("/audit-log")
+    public ResponseEntity<CursorPage<AdminActionDto>> getAuditLog(
+            @RequestParam(required = false) UUID applicationId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) String actionType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String cursor) {
+        
+        try {
+            CursorPage<AdminActionDto> actions = adminService.getAuditLog(
+                applicationId, userId, actionType, from, to, size, cursor);
+            return ResponseEntity.ok(actions);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get a page of the user directory
+     * 
+     * @param page Page number (default 0)
+     * @param size Page size (default 20, max 200)
+     * @param searchTerm Prefix of name, email, phone or ID number (optional)
+     * @return Paginated slim user profiles
      */
     @GetMapping("/users")
-    public ResponseEntity<List<Profile>> getAllUsers() {
-        List<Profile> users = adminService.getAllUsers();
+    public ResponseEntity<Page<AdminUserDto>> getUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String searchTerm) {
+        
+        Page<AdminUserDto> users = adminService.getUsers(page, size, searchTerm);
         return ResponseEntity.ok(users);
     }
+    
+    /**
+     * Get the user directory using keyset (cursor) pagination
+     * 
+     * @param size Page size (default 20, max 200)
+     * @param searchTerm Prefix of name, email, phone or ID number (optional)
+     * @param cursor Opaque cursor from the previous response's nextCursor (optional)
+     * @return Users after the cursor plus the cursor for the next page
+     */
+    @GetMapping("/users/keyset")
+    public ResponseEntity<CursorPage<AdminUserDto>> getUsersKeyset(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String cursor) {
+        
+        try {
+            CursorPage<AdminUserDto> users = adminService.getUsersAfter(size, searchTerm, cursor);
+            return ResponseEntity.ok(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    private AdminApplicationFilter buildFilter(
+            String status,
+            String serviceType,
+            String searchTerm,
+            String dataPath,
+            List<String> dataFields,
+            boolean includeData) {
+        
+        List<String> fields = !includeData ? List.of() : dataFields;
+        return new AdminApplicationFilter(status, serviceType, searchTerm, dataPath, fields);
+    }
 }
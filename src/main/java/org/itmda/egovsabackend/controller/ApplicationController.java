@@ -4,11 +4,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.itmda.egovsabackend.dto.ApplicationDetailDto;
 import org.itmda.egovsabackend.dto.ApplicationDocumentDto;
 import org.itmda.egovsabackend.dto.ApplicationDto;
+import org.itmda.egovsabackend.dto.ApplicationSummaryDto;
+import org.itmda.egovsabackend.dto.ApplicationTrackingDto;
 import org.itmda.egovsabackend.dto.CreateApplicationRequest;
+import org.itmda.egovsabackend.dto.CursorPage;
+import org.itmda.egovsabackend.exception.ApplicationConflictException;
+import org.itmda.egovsabackend.service.ApplicationDetailService;
 import org.itmda.egovsabackend.service.ApplicationService;
+import org.itmda.egovsabackend.service.ApplicationStatusStreamService;
+import org.itmda.egovsabackend.service.ApplicationTrackingService;
+import org.itmda.egovsabackend.service.IdempotencyService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,9 +27,13 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,19 +44,36 @@ import lombok.RequiredArgsConstructor;
 public class ApplicationController {
     
     private final ApplicationService applicationService;
+    private final ApplicationDetailService applicationDetailService;
+    private final IdempotencyService idempotencyService;
+    private final ApplicationStatusStreamService statusStreamService;
+    private final ApplicationTrackingService trackingService;
 
+    /**
+     * Create an application. A repeated request with the same Idempotency-Key returns the
+     * original response instead of creating a second application.
+     */
     @PostMapping
     public ResponseEntity<ApplicationDto> createApplication(
             @RequestParam String userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody CreateApplicationRequest request) {
-        try {
-            UUID userUuid = UUID.fromString(userId);
-            ApplicationDto application = applicationService.createApplication(userUuid, request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(application);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        return idempotencyService.execute("applications:create:" + userId, idempotencyKey, request,
+                ApplicationDto.class, () -> {
+            try {
+                UUID userUuid = UUID.fromString(userId);
+                ApplicationDto application = applicationService.createApplication(userUuid, request);
+                return ResponseEntity.status(HttpStatus.CREATED).body(application);
+            } catch (ApplicationConflictException e) {
+                // Already has an open application for this service
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            } catch (Exception e) {
+                e.printStackTrace();
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+        });
     }
 
     @GetMapping("/user/{userId}")
@@ -85,6 +116,53 @@ public class ApplicationController {
         }
     }
 
+    /**
+     * Server-Sent Events stream of the user's application status changes, replacing polling
+     * of the list endpoints. Each "status" event carries the application id, reference number,
+     * old and new status and current step; a comment is sent every 15 seconds as a heartbeat.
+     * 
+     * @param lastEventId Sent automatically by EventSource on reconnect; missed events are
+     *                    replayed, or a "resync" event is sent if they are no longer available
+     */
+    @GetMapping(value = "/user/{userId}/status-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamUserApplicationStatus(
+            @PathVariable String userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            UUID userUuid = UUID.fromString(userId);
+            return ResponseEntity.ok(statusStreamService.subscribe(userUuid, lastEventId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * Cursor-paged list of a user's applications, newest first, without form data or documents.
+     * Prefer this over the unpaged list endpoints for users with many applications.
+     * 
+     * @param status One or more statuses to filter by (optional, repeatable)
+     * @param size Page size (default 20, max 100)
+     * @param cursor Opaque cursor from the previous response's nextCursor (optional)
+     */
+    @GetMapping("/user/{userId}/keyset")
+    public ResponseEntity<CursorPage<ApplicationSummaryDto>> getUserApplicationsKeyset(
+            @PathVariable String userId,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        try {
+            UUID userUuid = UUID.fromString(userId);
+            CursorPage<ApplicationSummaryDto> applications =
+                    applicationService.getUserApplicationsAfter(userUuid, status, size, cursor);
+            return ResponseEntity.ok(applications);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApplicationDto> getApplicationById(@PathVariable String id) {
         try {
@@ -99,6 +177,26 @@ public class ApplicationController {
         }
     }
 
+    /**
+     * Application, documents, status timeline and appointments in one response
+     */
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<ApplicationDetailDto> getApplicationDetail(@PathVariable String id) {
+        try {
+            UUID appUuid = UUID.fromString(id);
+            ApplicationDetailDto detail = applicationDetailService.getApplicationDetail(appUuid);
+            return ResponseEntity.ok(detail);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (RuntimeException e) {
+            if ("Application not found".equals(e.getMessage())) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/reference/{referenceNumber}")
     public ResponseEntity<ApplicationDto> getApplicationByReference(@PathVariable String referenceNumber) {
         try {
@@ -112,6 +210,22 @@ public class ApplicationController {
         }
     }
 
+    /**
+     * Public tracking lookup: status, current step and expected completion only.
+     * Unknown reference numbers are rejected from memory without a database query.
+     */
+    @GetMapping("/track/{referenceNumber}")
+    public ResponseEntity<ApplicationTrackingDto> trackApplication(@PathVariable String referenceNumber) {
+        try {
+            return trackingService.track(referenceNumber)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<ApplicationDto> updateApplicationStatus(
             @PathVariable String id,
@@ -120,9 +234,16 @@ public class ApplicationController {
             UUID appUuid = UUID.fromString(id);
             String status = statusUpdate.get("status");
             String currentStep = statusUpdate.get("currentStep");
+            String expectedStatus = statusUpdate.get("expectedStatus");
+            String expectedVersion = statusUpdate.get("expectedVersion");
             
-            ApplicationDto updated = applicationService.updateApplicationStatus(appUuid, status, currentStep);
+            ApplicationDto updated = applicationService.updateApplicationStatus(appUuid, status, currentStep,
+                    expectedStatus, expectedVersion != null ? Long.valueOf(expectedVersion) : null);
             return ResponseEntity.ok(updated);
+        } catch (ApplicationConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (Exception e) {
@@ -134,15 +255,51 @@ public class ApplicationController {
     @PostMapping("/{applicationId}/documents")
     public ResponseEntity<ApplicationDocumentDto> addDocument(
             @PathVariable String applicationId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody ApplicationDocumentDto documentDto) {
-        try {
-            UUID appUuid = UUID.fromString(applicationId);
-            ApplicationDocumentDto document = applicationService.addDocument(appUuid, documentDto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(document);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        return idempotencyService.execute("applications:documents:" + applicationId, idempotencyKey, documentDto,
+                ApplicationDocumentDto.class, () -> {
+            try {
+                UUID appUuid = UUID.fromString(applicationId);
+                ApplicationDocumentDto document = applicationService.addDocument(appUuid, documentDto);
+                return ResponseEntity.status(HttpStatus.CREATED).body(document);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+        });
+    }
+
+    /**
+     * Register several documents in one request, e.g. everything a passport application needs.
+     * The batch is validated against the service's required documents and inserted atomically.
+     * 
+     * A repeated request with the same Idempotency-Key returns the original response.
+     * 
+     * @param documentDtos Documents to register (1-50)
+     * @return The registered documents with their ids
+     */
+    @PostMapping("/{applicationId}/documents/batch")
+    public ResponseEntity<List<ApplicationDocumentDto>> addDocuments(
+            @PathVariable String applicationId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody List<ApplicationDocumentDto> documentDtos) {
+        return idempotencyService.execute("applications:documents:batch:" + applicationId, idempotencyKey, documentDtos,
+                new TypeReference<List<ApplicationDocumentDto>>() {}, () -> {
+            try {
+                UUID appUuid = UUID.fromString(applicationId);
+                List<ApplicationDocumentDto> documents = applicationService.addDocuments(appUuid, documentDtos);
+                return ResponseEntity.status(HttpStatus.CREATED).body(documents);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            } catch (RuntimeException e) {
+                if ("Application not found".equals(e.getMessage())) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+                }
+                e.printStackTrace();
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+        });
     }
 
     @GetMapping("/{applicationId}/documents")
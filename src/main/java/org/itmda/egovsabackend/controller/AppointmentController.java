@@ -6,6 +6,7 @@ import java.util.UUID;
 
 import org.itmda.egovsabackend.dto.AppointmentDto;
 import org.itmda.egovsabackend.service.AppointmentService;
+import org.itmda.egovsabackend.service.IdempotencyService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -27,16 +29,26 @@ import lombok.RequiredArgsConstructor;
 public class AppointmentController {
     
     private final AppointmentService appointmentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    public ResponseEntity<AppointmentDto> createAppointment(@RequestBody AppointmentDto appointmentDto) {
-        try {
-            AppointmentDto appointment = appointmentService.createAppointment(appointmentDto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(appointment);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    public ResponseEntity<AppointmentDto> createAppointment(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody AppointmentDto appointmentDto) {
+        if (idempotencyKey != null && !idempotencyKey.isBlank() && appointmentDto.getUserId() == null) {
+            // Keys are scoped per user
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
+        return idempotencyService.execute("appointments:create:" + appointmentDto.getUserId(), idempotencyKey,
+                appointmentDto, AppointmentDto.class, () -> {
+            try {
+                AppointmentDto appointment = appointmentService.createAppointment(appointmentDto);
+                return ResponseEntity.status(HttpStatus.CREATED).body(appointment);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+        });
     }
 
     @GetMapping("/user/{userId}")
@@ -1,5 +1,6 @@
 package org.itmda.egovsabackend.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -7,6 +8,7 @@ import java.util.UUID;
 import org.itmda.egovsabackend.dto.NotificationDto;
 import org.itmda.egovsabackend.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -106,11 +109,67 @@ public class NotificationController {
     }
 
     @PatchMapping("/user/{userId}/read-all")
-    public ResponseEntity<Void> markAllAsRead(@PathVariable String userId) {
+    public ResponseEntity<Map<String, Integer>> markAllAsRead(@PathVariable String userId) {
         try {
             UUID userUuid = UUID.fromString(userId);
-            notificationService.markAllAsRead(userUuid);
-            return ResponseEntity.ok().build();
+            int updated = notificationService.markAllAsRead(userUuid);
+            return ResponseEntity.ok(Map.of("updated", updated));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Mark selected notifications as read
+     * PATCH /api/notifications/user/{userId}/read
+     * Body: list of notification ids (at most 1000)
+     */
+    @PatchMapping("/user/{userId}/read")
+    public ResponseEntity<Map<String, Integer>> markSelectedAsRead(
+            @PathVariable String userId,
+            @RequestBody List<UUID> notificationIds) {
+        try {
+            UUID userUuid = UUID.fromString(userId);
+            int updated = notificationService.markAsRead(userUuid, notificationIds);
+            return ResponseEntity.ok(Map.of("updated", updated));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Clear (deactivate) all of a user's notifications
+     * PATCH /api/notifications/user/{userId}/clear-all
+     */
+    @PatchMapping("/user/{userId}/clear-all")
+    public ResponseEntity<Map<String, Integer>> clearAll(@PathVariable String userId) {
+        try {
+            UUID userUuid = UUID.fromString(userId);
+            int cleared = notificationService.clearAll(userUuid);
+            return ResponseEntity.ok(Map.of("updated", cleared));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Delete a user's notifications created before a point in time
+     * DELETE /api/notifications/user/{userId}?before=2025-01-01T00:00:00
+     */
+    @DeleteMapping("/user/{userId}")
+    public ResponseEntity<Map<String, Integer>> deleteOlderThan(
+            @PathVariable String userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        try {
+            UUID userUuid = UUID.fromString(userId);
+            int deleted = notificationService.deleteOlderThan(userUuid, before);
+            return ResponseEntity.ok(Map.of("deleted", deleted));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
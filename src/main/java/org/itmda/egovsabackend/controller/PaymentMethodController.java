@@ -5,6 +5,7 @@ import java.util.UUID;
 
 import org.itmda.egovsabackend.dto.CreatePaymentMethodRequest;
 import org.itmda.egovsabackend.entity.PaymentMethod;
+import org.itmda.egovsabackend.service.IdempotencyService;
 import org.itmda.egovsabackend.service.PaymentMethodService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -30,26 +32,32 @@ import lombok.extern.slf4j.Slf4j;
 public class PaymentMethodController {
 
     private final PaymentMethodService paymentMethodService;
+    private final IdempotencyService idempotencyService;
 
     /**
      * Create a new payment method
      * POST /api/payment-methods/user/{userId}
+     * Honors the Idempotency-Key header: a retried request returns the original response.
      */
     @PostMapping("/user/{userId}")
     public ResponseEntity<PaymentMethod> createPaymentMethod(
             @PathVariable String userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody CreatePaymentMethodRequest request) {
-        try {
-            UUID userUuid = UUID.fromString(userId);
-            PaymentMethod created = paymentMethodService.createPaymentMethod(userUuid, request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(created);
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid userId format: {}", userId);
-            return ResponseEntity.badRequest().build();
-        } catch (Exception e) {
-            log.error("Error creating payment method: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        return idempotencyService.execute("payment-methods:create:" + userId, idempotencyKey, request,
+                PaymentMethod.class, () -> {
+            try {
+                UUID userUuid = UUID.fromString(userId);
+                PaymentMethod created = paymentMethodService.createPaymentMethod(userUuid, request);
+                return ResponseEntity.status(HttpStatus.CREATED).body(created);
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid userId format: {}", userId);
+                return ResponseEntity.badRequest().build();
+            } catch (Exception e) {
+                log.error("Error creating payment method: {}", e.getMessage());
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+        });
     }
 
     /**
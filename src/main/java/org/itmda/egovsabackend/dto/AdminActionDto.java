@@ -0,0 +1,20 @@
+package org.itmda.egovsabackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminActionDto {
+    private UUID id;
+    private String actionType;
+    private UUID applicationId;
+    private UUID userId;
+    private String details;
+    private LocalDateTime timestamp;
+}
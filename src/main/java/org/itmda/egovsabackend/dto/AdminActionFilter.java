@@ -0,0 +1,19 @@
+package org.itmda.egovsabackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminActionFilter {
+    private UUID applicationId;
+    private UUID userId;
+    private String actionType;
+    private LocalDateTime from;  // inclusive
+    private LocalDateTime to;    // exclusive
+}
@@ -28,5 +28,6 @@ public class AdminApplicationDto {
     private LocalDateTime completedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     private List<ApplicationDocumentDto> documents;
 }
@@ -0,0 +1,22 @@
+package org.itmda.egovsabackend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminApplicationFilter {
+    private String status;       // exact match on applications.status
+    private String serviceType;  // exact match on applications.service_type
+    private String searchTerm;   // prefix match on reference number, applicant name or ID number
+    private String dataPath;     // SQL/JSON path predicate on application_data, e.g. $.province == "Gauteng"
+    private List<String> dataFields; // application_data keys to return; null = whole document, empty = none
+    
+    public AdminApplicationFilter(String status, String serviceType, String searchTerm) {
+        this(status, serviceType, searchTerm, null, null);
+    }
+}
@@ -0,0 +1,35 @@
+package org.itmda.egovsabackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat projection of an application joined with its applicant's profile,
+ * used to build admin list pages in a single query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminApplicationRow {
+    private UUID id;
+    private UUID userId;
+    private String applicantName;
+    private String applicantEmail;
+    private String applicantPhone;
+    private String applicantIdNumber;
+    private String serviceType;
+    private String referenceNumber;
+    private String status;
+    private String currentStep;
+    private String applicationData;
+    private LocalDateTime submittedAt;
+    private LocalDateTime expectedCompletionDate;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
@@ -0,0 +1,24 @@
+package org.itmda.egovsabackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Slim profile projection for the admin user directory (no PIN or push token)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminUserDto {
+    private UUID id;
+    private String fullName;
+    private String email;
+    private String phone;
+    private String idNumber;
+    private Boolean isVerified;
+    private LocalDateTime createdAt;
+}
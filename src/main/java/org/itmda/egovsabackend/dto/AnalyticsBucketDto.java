@@ -0,0 +1,19 @@
+package org.itmda.egovsabackend.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsBucketDto {
+    private LocalDate bucketStart;         // day, or Monday of the week
+    private String serviceType;
+    private long submitted;
+    private long completed;
+    private long rejected;
+    private Double averageCompletionDays;  // null when nothing completed in the bucket
+}
@@ -0,0 +1,16 @@
+package org.itmda.egovsabackend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationDetailDto {
+    private ApplicationDto application;  // includes documents
+    private List<ApplicationStatusHistoryDto> statusHistory; // newest first
+    private List<AppointmentDto> appointments;
+}
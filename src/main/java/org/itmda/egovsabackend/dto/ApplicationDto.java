@@ -24,5 +24,6 @@ public class ApplicationDto {
     private LocalDateTime completedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     private List<ApplicationDocumentDto> documents;
 }
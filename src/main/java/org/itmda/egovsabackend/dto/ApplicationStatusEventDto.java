@@ -0,0 +1,24 @@
+package org.itmda.egovsabackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One status change pushed on /api/applications/user/{userId}/status-stream
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatusEventDto {
+    private long eventId;
+    private UUID applicationId;
+    private String referenceNumber;
+    private String oldStatus; // null for a newly created application
+    private String status;
+    private String currentStep;
+    private LocalDateTime changedAt;
+}
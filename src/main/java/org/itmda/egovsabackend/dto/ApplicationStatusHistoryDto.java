@@ -0,0 +1,19 @@
+package org.itmda.egovsabackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatusHistoryDto {
+    private UUID id;
+    private String oldStatus;
+    private String newStatus;
+    private LocalDateTime changedAt;
+    private String notes;
+}
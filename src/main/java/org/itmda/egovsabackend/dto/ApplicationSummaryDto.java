@@ -0,0 +1,29 @@
+package org.itmda.egovsabackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Application list row without the form data or documents
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationSummaryDto {
+    private UUID id;
+    private UUID userId;
+    private String serviceType;
+    private String referenceNumber;
+    private String status;
+    private String currentStep;
+    private LocalDateTime submittedAt;
+    private LocalDateTime expectedCompletionDate;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
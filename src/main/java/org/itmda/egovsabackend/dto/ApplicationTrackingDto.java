@@ -0,0 +1,20 @@
+package org.itmda.egovsabackend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Public tracking view of an application: no applicant, form data or documents
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationTrackingDto {
+    private String referenceNumber;
+    private String status;
+    private String currentStep;
+    private LocalDateTime expectedCompletionDate;
+}
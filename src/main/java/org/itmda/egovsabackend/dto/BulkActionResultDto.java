@@ -0,0 +1,17 @@
+package org.itmda.egovsabackend.dto;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkActionResultDto {
+    private UUID applicationId;
+    private boolean success;
+    private String status;   // status after the action (null on failure)
+    private String message;  // error description on failure
+}
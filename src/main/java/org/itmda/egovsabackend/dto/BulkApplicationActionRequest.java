@@ -0,0 +1,20 @@
+package org.itmda.egovsabackend.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkApplicationActionRequest {
+    private List<UUID> applicationIds;
+    private String action;      // APPROVE, REJECT or UPDATE_STATUS
+    private String status;      // required for UPDATE_STATUS
+    private String currentStep; // optional, UPDATE_STATUS only
+    private String notes;
+    private UUID reviewerId;    // reviewer acting; applications claimed by others are skipped
+}
@@ -0,0 +1,17 @@
+package org.itmda.egovsabackend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;       // null when there are no more rows
+    private boolean hasNext;
+    private Long totalElements;      // only populated when explicitly requested
+}
@@ -0,0 +1,43 @@
+package org.itmda.egovsabackend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Position in a keyset-paged listing: the sort field it was issued for,
+ * the last row's sort value and the last row's id. Clients only see the encoded form.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetCursor {
+    private String sortField;
+    private LocalDateTime sortValue;
+    private UUID id;
+    
+    public String encode() {
+        String raw = sortField + "|" + (sortValue != null ? sortValue.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            LocalDateTime sortValue = parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]);
+            return new KeysetCursor(parts[0], sortValue, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.itmda.egovsabackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewClaimDto {
+    private UUID applicationId;
+    private String referenceNumber;
+    private String serviceType;
+    private String status;
+    private String currentStep;
+    private LocalDateTime createdAt;
+    private UUID claimedBy;
+    private LocalDateTime claimExpiresAt;
+    private Long version; // pass back as expectedVersion when approving / rejecting
+}
@@ -17,6 +17,9 @@ public class ServiceDto {
     private String category;
     private String requiredDocuments; // JSON array
     private Integer processingTimeDays;
+    private String referencePrefix;
+    private String initialStep;
+    private Boolean singleOpenApplication;
     private Double fees;
     private Boolean isActive;
     private LocalDateTime createdAt;
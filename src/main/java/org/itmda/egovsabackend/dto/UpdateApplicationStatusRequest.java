@@ -1,5 +1,7 @@
 package org.itmda.egovsabackend.dto;
 
+import java.util.UUID;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,4 +13,7 @@ public class UpdateApplicationStatusRequest {
     private String status;
     private String currentStep;
     private String notes;
+    private String expectedStatus; // optional: only apply if still in this status
+    private Long expectedVersion; // optional: only apply if still at this version
+    private UUID reviewerId; // reviewer acting; required to move an application they have claimed
 }
@@ -10,13 +10,18 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "admin_actions")
+@Table(name = "admin_actions", indexes = {
+    @Index(name = "idx_admin_actions_application_timestamp", columnList = "application_id, timestamp DESC, id DESC"),
+    @Index(name = "idx_admin_actions_user_timestamp", columnList = "user_id, timestamp DESC, id DESC"),
+    @Index(name = "idx_admin_actions_type_timestamp", columnList = "action_type, timestamp DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
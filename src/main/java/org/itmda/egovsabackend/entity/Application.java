@@ -3,21 +3,36 @@ package org.itmda.egovsabackend.entity;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", indexes = {
+    @Index(name = "idx_applications_created_at_id", columnList = "created_at DESC, id DESC"),
+    @Index(name = "idx_applications_submitted_at_id", columnList = "submitted_at DESC, id DESC"),
+    @Index(name = "idx_applications_updated_at_id", columnList = "updated_at DESC, id DESC"),
+    @Index(name = "idx_applications_status_created_at", columnList = "status, created_at DESC, id DESC"),
+    @Index(name = "idx_applications_service_type_status_created_at", columnList = "service_type, status, created_at DESC, id DESC"),
+    @Index(name = "idx_applications_user_created_at", columnList = "user_id, created_at DESC, id DESC"),
+    @Index(name = "idx_applications_user_status_created_at", columnList = "user_id, status, created_at DESC, id DESC")
+})
+@SQLRestriction("deleted_at IS NULL") // soft-deleted rows are invisible to JPA; native SQL must filter them itself
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,8 +57,9 @@ public class Application {
     @Column(name = "current_step")
     private String currentStep;
     
-    @Column(name = "application_data", columnDefinition = "TEXT")
-    private String applicationData; // JSON string
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "application_data", columnDefinition = "jsonb")
+    private String applicationData; // JSON document, stored as jsonb
     
     @Column(name = "submitted_at")
     private LocalDateTime submittedAt;
@@ -61,4 +77,22 @@ public class Application {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+    
+    @Column(name = "claimed_by")
+    private UUID claimedBy; // Reviewer currently working on the application (review queue)
+    
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt; // Claim lease; an expired claim can be taken by another reviewer
+    
+    @ColumnDefault("false")
+    @Column(name = "single_open", nullable = false)
+    private Boolean singleOpen = false; // Service allows one open application per user (uq_applications_user_service_open)
+    
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt; // Soft delete; ApplicationPurgeWorker removes the row and its data later
+    
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version; // bumped on every update; used for optimistic locking
 }
@@ -0,0 +1,56 @@
+package org.itmda.egovsabackend.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pre-aggregated per-day, per-service application activity.
+ * Maintained incrementally from application_status_history by AnalyticsService.
+ */
+@Entity
+@Table(name = "application_daily_rollups")
+@IdClass(ApplicationDailyRollup.RollupId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationDailyRollup {
+    
+    @Id
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+    
+    @Id
+    @Column(name = "service_type", nullable = false)
+    private String serviceType;
+    
+    @Column(name = "submitted_count", nullable = false)
+    private Long submittedCount;
+    
+    @Column(name = "completed_count", nullable = false)
+    private Long completedCount;
+    
+    @Column(name = "rejected_count", nullable = false)
+    private Long rejectedCount;
+    
+    @Column(name = "completion_seconds_total", nullable = false)
+    private Long completionSecondsTotal; // sum of (completed - submitted) for completed applications
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RollupId implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        private LocalDate bucketDate;
+        private String serviceType;
+    }
+}
@@ -10,13 +10,16 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "application_documents")
+@Table(name = "application_documents", indexes = {
+    @Index(name = "idx_application_documents_application_id", columnList = "application_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,24 @@
+package org.itmda.egovsabackend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "application_status_counts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatusCount {
+    
+    @Id
+    @Column(name = "status", nullable = false)
+    private String status;
+    
+    @Column(name = "count", nullable = false)
+    private Long count;
+}
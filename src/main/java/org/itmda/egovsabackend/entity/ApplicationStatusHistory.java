@@ -10,13 +10,16 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "application_status_history")
+@Table(name = "application_status_history", indexes = {
+    @Index(name = "idx_application_status_history_application_id", columnList = "application_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
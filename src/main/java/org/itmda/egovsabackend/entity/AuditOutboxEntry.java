@@ -0,0 +1,72 @@
+package org.itmda.egovsabackend.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Admin action written in the business transaction and copied to admin_actions by
+ * AdminAuditWriter's relay, which then deletes it.
+ * Rows that keep failing are dead-lettered: kept here with dead_lettered_at set, and skipped.
+ */
+@Entity
+@Table(name = "audit_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditOutboxEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // relay order
+    
+    @Column(name = "record_id", nullable = false)
+    private UUID recordId; // id of the admin_actions row to write
+    
+    @Column(name = "application_id")
+    private UUID applicationId;
+    
+    @Column(name = "user_id")
+    private UUID userId;
+    
+    @Column(name = "action_type")
+    private String actionType;
+    
+    @Column(name = "details", columnDefinition = "TEXT")
+    private String details;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+    
+    @ColumnDefault("0")
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    @Column(name = "dead_lettered_at")
+    private LocalDateTime deadLetteredAt;
+    
+    public static AuditOutboxEntry of(AdminAction action) {
+        AuditOutboxEntry entry = new AuditOutboxEntry();
+        entry.setRecordId(action.getId() != null ? action.getId() : UUID.randomUUID());
+        entry.setApplicationId(action.getApplicationId());
+        entry.setUserId(action.getUserId());
+        entry.setActionType(action.getActionType());
+        entry.setDetails(action.getDetails());
+        entry.setOccurredAt(action.getTimestamp() != null ? action.getTimestamp() : LocalDateTime.now());
+        return entry;
+    }
+}
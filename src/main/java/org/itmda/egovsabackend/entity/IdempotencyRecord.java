@@ -0,0 +1,62 @@
+package org.itmda.egovsabackend.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a create request sent with an Idempotency-Key header.
+ * A row without a status code is a claim: the request is still being processed.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+@IdClass(IdempotencyRecord.RecordId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    
+    @Id
+    @Column(name = "scope", nullable = false)
+    private String scope; // endpoint plus owner, e.g. applications:create:<userId>
+    
+    @Id
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+    
+    @Column(name = "request_hash", nullable = false)
+    private String requestHash; // SHA-256 of the request body, to catch keys reused for a different request
+    
+    @Column(name = "status_code")
+    private Integer statusCode;
+    
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody; // JSON
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordId implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        private String scope;
+        private String idempotencyKey;
+    }
+}
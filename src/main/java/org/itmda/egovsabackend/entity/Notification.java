@@ -11,10 +11,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_related_id", columnList = "related_id"),
+    @Index(name = "idx_notifications_user_created_at", columnList = "user_id, created_at DESC")
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
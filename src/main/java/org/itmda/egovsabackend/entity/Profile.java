@@ -6,13 +6,16 @@ import java.util.UUID;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "profiles")
+@Table(name = "profiles", indexes = {
+    @Index(name = "idx_profiles_created_at_id", columnList = "created_at DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
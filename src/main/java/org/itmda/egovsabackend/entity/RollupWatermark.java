@@ -0,0 +1,26 @@
+package org.itmda.egovsabackend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "rollup_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupWatermark {
+    
+    @Id
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+    
+    @Column(name = "processed_until", nullable = false)
+    private LocalDateTime processedUntil; // source rows with a timestamp <= this are already rolled up
+}
@@ -42,6 +42,15 @@ public class Service {
     @Column(name = "processing_time_days")
     private Integer processingTimeDays;
     
+    @Column(name = "reference_prefix", length = 10)
+    private String referencePrefix; // Prefix for application reference numbers, e.g. PA
+    
+    @Column(name = "initial_step")
+    private String initialStep; // current_step of a newly created application
+    
+    @Column(name = "single_open_application")
+    private Boolean singleOpenApplication; // At most one open application per user; null means false
+    
     @Column(name = "fees")
     private Double fees;
     
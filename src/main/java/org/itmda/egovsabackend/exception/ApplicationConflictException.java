@@ -0,0 +1,18 @@
+package org.itmda.egovsabackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a status transition loses a race: the application is no longer in the
+ * expected status (or version) because another reviewer changed it first.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ApplicationConflictException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public ApplicationConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package org.itmda.egovsabackend.repository;
+
+import java.util.List;
+
+import org.itmda.egovsabackend.dto.AdminActionDto;
+import org.itmda.egovsabackend.dto.AdminActionFilter;
+import org.itmda.egovsabackend.dto.KeysetCursor;
+
+/**
+ * Filtered, keyset-paged audit log queries over admin_actions
+ */
+public interface AdminActionQueryRepository {
+    
+    /**
+     * Up to {@code limit} actions after the cursor, ordered by (timestamp DESC, id DESC).
+     * A null cursor starts from the newest action.
+     */
+    List<AdminActionDto> findAuditLogAfter(AdminActionFilter filter, KeysetCursor after, int limit);
+}
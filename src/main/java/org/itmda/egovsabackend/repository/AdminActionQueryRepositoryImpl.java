@@ -0,0 +1,72 @@
+package org.itmda.egovsabackend.repository;
+
+import static org.itmda.egovsabackend.repository.CriteriaSupport.hasText;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.itmda.egovsabackend.dto.AdminActionDto;
+import org.itmda.egovsabackend.dto.AdminActionFilter;
+import org.itmda.egovsabackend.dto.KeysetCursor;
+import org.itmda.egovsabackend.entity.AdminAction;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Filters on application, user and action type use the (column, timestamp DESC) b-tree
+ * indexes on AdminAction; pure time-range scans use the BRIN index in schema.sql.
+ */
+public class AdminActionQueryRepositoryImpl implements AdminActionQueryRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<AdminActionDto> findAuditLogAfter(AdminActionFilter filter, KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AdminActionDto> query = cb.createQuery(AdminActionDto.class);
+        Root<AdminAction> action = query.from(AdminAction.class);
+        Path<LocalDateTime> timestamp = action.get("timestamp");
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getApplicationId() != null) {
+            predicates.add(cb.equal(action.get("applicationId"), filter.getApplicationId()));
+        }
+        if (filter.getUserId() != null) {
+            predicates.add(cb.equal(action.get("userId"), filter.getUserId()));
+        }
+        if (hasText(filter.getActionType())) {
+            predicates.add(cb.equal(action.get("actionType"), filter.getActionType().trim()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(timestamp, filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(timestamp, filter.getTo()));
+        }
+        if (after != null) {
+            predicates.add(CriteriaSupport.seekAfterDescending(cb, timestamp, action.get("id"), after));
+        }
+        
+        query.select(cb.construct(AdminActionDto.class,
+                action.get("id"),
+                action.get("actionType"),
+                action.get("applicationId"),
+                action.get("userId"),
+                action.get("details"),
+                timestamp))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(timestamp), cb.desc(action.get("id")));
+        
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
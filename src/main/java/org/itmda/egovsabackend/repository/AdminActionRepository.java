@@ -9,7 +9,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface AdminActionRepository extends JpaRepository<AdminAction, UUID> {
+public interface AdminActionRepository extends JpaRepository<AdminAction, UUID>, AdminActionQueryRepository {
     
     List<AdminAction> findByApplicationIdOrderByTimestampDesc(UUID applicationId);
     
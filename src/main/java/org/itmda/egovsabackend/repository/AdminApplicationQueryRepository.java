@@ -0,0 +1,34 @@
+package org.itmda.egovsabackend.repository;
+
+import java.util.List;
+
+import org.itmda.egovsabackend.dto.AdminApplicationFilter;
+import org.itmda.egovsabackend.dto.AdminApplicationRow;
+import org.itmda.egovsabackend.dto.KeysetCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Dynamic admin queries over applications joined with applicant profiles
+ */
+public interface AdminApplicationQueryRepository {
+    
+    Page<AdminApplicationRow> findAdminRows(AdminApplicationFilter filter, Pageable pageable);
+    
+    /**
+     * Keyset page: up to {@code limit} rows after the cursor, ordered by (sortField DESC, id DESC).
+     * A null cursor starts from the first row. No count query is issued.
+     */
+    List<AdminApplicationRow> findAdminRowsAfter(
+            AdminApplicationFilter filter,
+            String sortField,
+            KeysetCursor after,
+            int limit);
+    
+    long countAdminRows(AdminApplicationFilter filter);
+    
+    /**
+     * Whether Postgres accepts the string as an SQL/JSON path (checked before filtering on it)
+     */
+    boolean isValidJsonPath(String path);
+}
@@ -0,0 +1,230 @@
+package org.itmda.egovsabackend.repository;
+
+import static org.itmda.egovsabackend.repository.CriteriaSupport.LIKE_ESCAPE;
+import static org.itmda.egovsabackend.repository.CriteriaSupport.hasText;
+import static org.itmda.egovsabackend.repository.CriteriaSupport.prefixPattern;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.hibernate.exception.SQLGrammarException;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.sqm.tree.SqmJoinType;
+import org.itmda.egovsabackend.dto.AdminApplicationFilter;
+import org.itmda.egovsabackend.dto.AdminApplicationRow;
+import org.itmda.egovsabackend.dto.KeysetCursor;
+import org.itmda.egovsabackend.entity.Application;
+import org.itmda.egovsabackend.entity.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Criteria-based implementation of the admin list query.
+ * Filters are only added when present, so every combination maps onto one of the
+ * composite indexes on applications / profiles (see entity indexes and schema.sql).
+ * The profile join only feeds the selected columns; filters never read through it.
+ */
+public class AdminApplicationQueryRepositoryImpl implements AdminApplicationQueryRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<AdminApplicationRow> findAdminRows(AdminApplicationFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        
+        // Page query
+        CriteriaQuery<AdminApplicationRow> query = cb.createQuery(AdminApplicationRow.class);
+        JpaRoot<Application> application = (JpaRoot<Application>) query.from(Application.class);
+        JpaEntityJoin<Profile> profile = joinProfile(cb, application);
+        
+        query.select(selectRow(cb, application, profile, filter))
+            .where(buildPredicates(cb, query, application, filter))
+            .orderBy(QueryUtils.toOrders(pageable.getSort(), application, cb));
+        
+        TypedQuery<AdminApplicationRow> pageQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            pageQuery.setFirstResult((int) pageable.getOffset());
+            pageQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<AdminApplicationRow> rows = pageQuery.getResultList();
+        
+        // Count query only runs when the total can't be derived from the page itself
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(cb, filter));
+    }
+    
+    @Override
+    public List<AdminApplicationRow> findAdminRowsAfter(
+            AdminApplicationFilter filter,
+            String sortField,
+            KeysetCursor after,
+            int limit) {
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AdminApplicationRow> query = cb.createQuery(AdminApplicationRow.class);
+        JpaRoot<Application> application = (JpaRoot<Application>) query.from(Application.class);
+        JpaEntityJoin<Profile> profile = joinProfile(cb, application);
+        
+        List<Predicate> predicates = new ArrayList<>(List.of(buildPredicates(cb, query, application, filter)));
+        if (after != null) {
+            predicates.add(CriteriaSupport.seekAfterDescending(
+                cb, application.get(sortField), application.get("id"), after));
+        }
+        
+        // Postgres sorts NULLs first for DESC, matching the (sort_field DESC, id DESC) indexes
+        Path<LocalDateTime> sortPath = application.get(sortField);
+        query.select(selectRow(cb, application, profile, filter))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(sortPath), cb.desc(application.get("id")));
+        
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+    
+    @Override
+    public long countAdminRows(AdminApplicationFilter filter) {
+        return count(entityManager.getCriteriaBuilder(), filter);
+    }
+    
+    @Override
+    public boolean isValidJsonPath(String path) {
+        try {
+            entityManager.createNativeQuery("SELECT CAST(:path AS jsonpath) IS NOT NULL")
+                .setParameter("path", path)
+                .getSingleResult();
+            return true;
+        } catch (SQLGrammarException e) {
+            // jsonpath parse errors are syntax errors (SQLSTATE 42601)
+            return false;
+        }
+    }
+    
+    private CompoundSelection<AdminApplicationRow> selectRow(
+            CriteriaBuilder cb,
+            JpaRoot<Application> application,
+            JpaEntityJoin<Profile> profile,
+            AdminApplicationFilter filter) {
+        
+        return cb.construct(AdminApplicationRow.class,
+            application.get("id"),
+            application.get("userId"),
+            profile.get("fullName"),
+            profile.get("email"),
+            profile.get("phone"),
+            profile.get("idNumber"),
+            application.get("serviceType"),
+            application.get("referenceNumber"),
+            application.get("status"),
+            application.get("currentStep"),
+            applicationData(cb, application, filter.getDataFields()),
+            application.get("submittedAt"),
+            application.get("expectedCompletionDate"),
+            application.get("completedAt"),
+            application.get("createdAt"),
+            application.get("updatedAt"),
+            application.get("version"));
+    }
+    
+    /**
+     * application_data as selected for list rows: the whole document, only some keys, or nothing
+     */
+    private Expression<String> applicationData(CriteriaBuilder cb, JpaRoot<Application> application, List<String> fields) {
+        if (fields == null) {
+            return application.get("applicationData");
+        }
+        if (fields.isEmpty()) {
+            return cb.nullLiteral(String.class);
+        }
+        return cb.function(PostgresJsonFunctions.PICK, String.class,
+            application.get("applicationData"), cb.literal(String.join(",", fields)));
+    }
+    
+    private long count(CriteriaBuilder cb, AdminApplicationFilter filter) {
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        JpaRoot<Application> application = (JpaRoot<Application>) countQuery.from(Application.class);
+        
+        // No profile join: the search term matches profiles through a subquery
+        countQuery.select(cb.count(application))
+            .where(buildPredicates(cb, countQuery, application, filter));
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+    
+    private JpaEntityJoin<Profile> joinProfile(CriteriaBuilder cb, JpaRoot<Application> application) {
+        JpaEntityJoin<Profile> profile = application.join(Profile.class, SqmJoinType.LEFT);
+        profile.on(cb.equal(profile.get("id"), application.get("userId")));
+        return profile;
+    }
+    
+    private Predicate[] buildPredicates(
+            CriteriaBuilder cb,
+            AbstractQuery<?> query,
+            JpaRoot<Application> application,
+            AdminApplicationFilter filter) {
+        
+        List<Predicate> predicates = new ArrayList<>();
+        
+        if (hasText(filter.getStatus())) {
+            predicates.add(cb.equal(application.get("status"), filter.getStatus().trim()));
+        }
+        
+        if (hasText(filter.getServiceType())) {
+            predicates.add(cb.equal(application.get("serviceType"), filter.getServiceType().trim()));
+        }
+        
+        if (hasText(filter.getSearchTerm())) {
+            predicates.add(application.get("id").in(searchMatches(cb, query, filter.getSearchTerm().trim())));
+        }
+        
+        if (hasText(filter.getDataPath())) {
+            predicates.add(cb.isTrue(cb.function(PostgresJsonFunctions.PATH_MATCHES, Boolean.class,
+                application.get("applicationData"), cb.literal(filter.getDataPath().trim()))));
+        }
+        
+        return predicates.toArray(new Predicate[0]);
+    }
+    
+    /**
+     * Ids of applications whose reference number, applicant name or applicant ID number starts with the term.
+     * A single OR across the profile join can't use the per-table prefix indexes, so each arm is its own
+     * index lookup (reference prefix; profile prefixes, then applications by user_id) and the ids are unioned.
+     */
+    private Subquery<UUID> searchMatches(CriteriaBuilder cb, AbstractQuery<?> query, String term) {
+        Subquery<UUID> byReference = query.subquery(UUID.class);
+        Root<Application> referenced = byReference.from(Application.class);
+        byReference.select(referenced.get("id"))
+            .where(cb.like(referenced.get("referenceNumber"), prefixPattern(term.toUpperCase(Locale.ROOT)), LIKE_ESCAPE));
+        
+        Subquery<UUID> byApplicant = query.subquery(UUID.class);
+        Root<Application> owned = byApplicant.from(Application.class);
+        Root<Profile> applicant = byApplicant.from(Profile.class);
+        byApplicant.select(owned.get("id"))
+            .where(
+                cb.equal(owned.get("userId"), applicant.get("id")),
+                cb.or(
+                    cb.like(cb.lower(applicant.get("fullName")), prefixPattern(term.toLowerCase(Locale.ROOT)), LIKE_ESCAPE),
+                    cb.like(applicant.get("idNumber"), prefixPattern(term), LIKE_ESCAPE)));
+        
+        return ((HibernateCriteriaBuilder) cb).union(byReference, byApplicant);
+    }
+}
@@ -0,0 +1,120 @@
+package org.itmda.egovsabackend.repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.entity.ApplicationStatusHistory;
+import org.itmda.egovsabackend.entity.Notification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC batch writes for bulk admin operations.
+ * Each call sends its rows in chunks of BATCH_SIZE statements per round trip
+ * (rewritten into multi-row inserts by the driver, see reWriteBatchedInserts).
+ * Ids and timestamps are assigned here because Hibernate's generators are bypassed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AdminBulkWriteRepository {
+    
+    public static final int BATCH_SIZE = 100;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Set status (and optionally current step / completed date) on many applications.
+     * Each row is only changed if it is still in the status given for it and is not
+     * claimed by a reviewer other than reviewerId under an unexpired lease;
+     * returns the ids that were actually updated.
+     */
+    public Set<UUID> updateApplicationStatuses(
+            Map<UUID, String> expectedStatuses,
+            UUID reviewerId,
+            String status,
+            String currentStep,
+            LocalDateTime completedAt,
+            LocalDateTime now) {
+        
+        Timestamp completed = completedAt != null ? Timestamp.valueOf(completedAt) : null;
+        Timestamp updated = Timestamp.valueOf(now);
+        List<Map.Entry<UUID, String>> rows = List.copyOf(expectedStatuses.entrySet());
+        
+        int[][] counts = jdbcTemplate.batchUpdate(
+            "UPDATE applications SET status = ?, current_step = COALESCE(?, current_step), " +
+            "completed_at = COALESCE(?, completed_at), updated_at = ?, version = version + 1, " +
+            "claimed_by = NULL, claim_expires_at = NULL " +
+            "WHERE id = ? AND status = ? AND deleted_at IS NULL " +
+            "AND (claimed_by IS NULL OR claimed_by = ? OR claim_expires_at < ?)",
+            rows,
+            BATCH_SIZE,
+            (ps, row) -> {
+                ps.setString(1, status);
+                ps.setString(2, currentStep);
+                ps.setTimestamp(3, completed);
+                ps.setTimestamp(4, updated);
+                ps.setObject(5, row.getKey());
+                ps.setString(6, row.getValue());
+                ps.setObject(7, reviewerId, Types.OTHER);
+                ps.setTimestamp(8, updated);
+            });
+        
+        Set<UUID> updatedIds = new HashSet<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 0) {
+                    updatedIds.add(rows.get(index).getKey());
+                }
+                index++;
+            }
+        }
+        return updatedIds;
+    }
+    
+    public void insertStatusHistory(List<ApplicationStatusHistory> rows, LocalDateTime now) {
+        Timestamp changedAt = Timestamp.valueOf(now);
+        
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO application_status_history (id, application_id, old_status, new_status, changed_at, notes) " +
+            "VALUES (?, ?, ?, ?, ?, ?)",
+            rows,
+            BATCH_SIZE,
+            (ps, history) -> {
+                ps.setObject(1, UUID.randomUUID());
+                ps.setObject(2, history.getApplicationId());
+                ps.setString(3, history.getOldStatus());
+                ps.setString(4, history.getNewStatus());
+                ps.setTimestamp(5, changedAt);
+                ps.setString(6, history.getNotes());
+            });
+    }
+    
+    public void insertNotifications(List<Notification> rows, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO notifications (id, user_id, title, description, notification_type, related_id, " +
+            "is_read, is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, false, true, ?, ?)",
+            rows,
+            BATCH_SIZE,
+            (ps, notification) -> {
+                ps.setObject(1, UUID.randomUUID());
+                ps.setObject(2, notification.getUserId());
+                ps.setString(3, notification.getTitle());
+                ps.setString(4, notification.getDescription());
+                ps.setString(5, notification.getNotificationType());
+                ps.setObject(6, notification.getRelatedId());
+                ps.setTimestamp(7, timestamp);
+                ps.setTimestamp(8, timestamp);
+            });
+    }
+}
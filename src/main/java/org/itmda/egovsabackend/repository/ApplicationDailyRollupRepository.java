@@ -0,0 +1,45 @@
+package org.itmda.egovsabackend.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.itmda.egovsabackend.entity.ApplicationDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ApplicationDailyRollupRepository extends JpaRepository<ApplicationDailyRollup, ApplicationDailyRollup.RollupId> {
+    
+    List<ApplicationDailyRollup> findByBucketDateBetweenOrderByBucketDateAsc(LocalDate from, LocalDate to);
+    
+    List<ApplicationDailyRollup> findByServiceTypeAndBucketDateBetweenOrderByBucketDateAsc(
+            String serviceType, LocalDate from, LocalDate to);
+    
+    /**
+     * Fold status history rows with changed_at in (from, to] into the daily rollups.
+     * A history row with no old status is the application's submission.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO application_daily_rollups " +
+            "(bucket_date, service_type, submitted_count, completed_count, rejected_count, completion_seconds_total) " +
+            "SELECT CAST(h.changed_at AS DATE), a.service_type, " +
+            "COUNT(*) FILTER (WHERE h.old_status IS NULL), " +
+            "COUNT(*) FILTER (WHERE h.new_status = 'Completed'), " +
+            "COUNT(*) FILTER (WHERE h.new_status = 'Rejected'), " +
+            "COALESCE(CAST(SUM(EXTRACT(EPOCH FROM (h.changed_at - COALESCE(a.submitted_at, a.created_at)))) " +
+            "FILTER (WHERE h.new_status = 'Completed') AS BIGINT), 0) " +
+            "FROM application_status_history h JOIN applications a ON a.id = h.application_id " +
+            "WHERE h.changed_at > :from AND h.changed_at <= :to " +
+            "GROUP BY CAST(h.changed_at AS DATE), a.service_type " +
+            "ON CONFLICT (bucket_date, service_type) DO UPDATE SET " +
+            "submitted_count = application_daily_rollups.submitted_count + EXCLUDED.submitted_count, " +
+            "completed_count = application_daily_rollups.completed_count + EXCLUDED.completed_count, " +
+            "rejected_count = application_daily_rollups.rejected_count + EXCLUDED.rejected_count, " +
+            "completion_seconds_total = application_daily_rollups.completion_seconds_total + EXCLUDED.completion_seconds_total",
+            nativeQuery = true)
+    int rollUp(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
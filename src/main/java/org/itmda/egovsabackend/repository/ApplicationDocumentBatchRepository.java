@@ -0,0 +1,49 @@
+package org.itmda.egovsabackend.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.entity.ApplicationDocument;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC batch inserts for registering many documents on an application at once.
+ * Ids and upload times are assigned here because Hibernate's generators are bypassed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ApplicationDocumentBatchRepository {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Insert documents, setting the generated id and upload time on each row
+     */
+    public void insertDocuments(List<ApplicationDocument> rows, LocalDateTime now) {
+        Timestamp uploadedAt = Timestamp.valueOf(now);
+        rows.forEach(document -> {
+            document.setId(UUID.randomUUID());
+            document.setUploadedAt(now);
+        });
+        
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO application_documents (id, application_id, document_type, file_name, file_url, " +
+            "file_size, uploaded_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            rows,
+            AdminBulkWriteRepository.BATCH_SIZE,
+            (ps, document) -> {
+                ps.setObject(1, document.getId());
+                ps.setObject(2, document.getApplicationId());
+                ps.setString(3, document.getDocumentType());
+                ps.setString(4, document.getFileName());
+                ps.setString(5, document.getFileUrl());
+                ps.setObject(6, document.getFileSize());
+                ps.setTimestamp(7, uploadedAt);
+            });
+    }
+}
@@ -1,5 +1,6 @@
 package org.itmda.egovsabackend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,7 +13,7 @@ public interface ApplicationDocumentRepository extends JpaRepository<Application
     
     List<ApplicationDocument> findByApplicationId(UUID applicationId);
     
-    List<ApplicationDocument> findByApplicationIdAndDocumentType(UUID applicationId, String documentType);
+    List<ApplicationDocument> findByApplicationIdIn(Collection<UUID> applicationIds);
     
-    void deleteByApplicationId(UUID applicationId);
+    List<ApplicationDocument> findByApplicationIdAndDocumentType(UUID applicationId, String documentType);
 }
@@ -0,0 +1,101 @@
+package org.itmda.egovsabackend.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Set-based deletes for soft-deleted applications (see ApplicationPurgeWorker).
+ * Each call works on one chunk of application ids, passed as a single uuid[] parameter.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ApplicationPurgeRepository {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Rows removed by one purge, per table
+     */
+    public record PurgeResult(int applications, int documents, int statusHistory, int appointments, int notifications) {
+    }
+    
+    /**
+     * Stored file waiting to be deleted from storage
+     */
+    public record QueuedFile(long id, String fileUrl) {
+    }
+    
+    /**
+     * Lock up to :limit applications soft-deleted before :deletedBefore, oldest first.
+     * SKIP LOCKED lets several instances purge at once without taking the same rows.
+     */
+    public List<UUID> lockDeletedApplications(LocalDateTime deletedBefore, int limit) {
+        return jdbcTemplate.queryForList(
+            "SELECT id FROM applications WHERE deleted_at < ? ORDER BY deleted_at LIMIT ? FOR UPDATE SKIP LOCKED",
+            UUID.class,
+            Timestamp.valueOf(deletedBefore), limit);
+    }
+    
+    /**
+     * Queue the stored files of the applications' documents for deletion from storage.
+     * Called in the purge transaction, so the URLs are kept exactly when the document rows go.
+     */
+    public int queueDocumentFiles(List<UUID> applicationIds) {
+        return jdbcTemplate.update(
+            "INSERT INTO storage_file_deletions (file_url) SELECT file_url FROM application_documents " +
+            "WHERE application_id = ANY(?) AND NULLIF(btrim(file_url), '') IS NOT NULL",
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", applicationIds.toArray())));
+    }
+    
+    public List<QueuedFile> findQueuedFiles(int limit) {
+        return jdbcTemplate.query(
+            "SELECT id, file_url FROM storage_file_deletions ORDER BY id LIMIT ?",
+            (rs, rowNum) -> new QueuedFile(rs.getLong(1), rs.getString(2)),
+            limit);
+    }
+    
+    public int deleteQueuedFiles(List<Long> ids) {
+        return jdbcTemplate.update("DELETE FROM storage_file_deletions WHERE id = ANY(?)",
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+    
+    /**
+     * Delete the applications and everything that refers to them. Admin actions are kept as the audit trail.
+     */
+    public PurgeResult deleteApplications(List<UUID> applicationIds) {
+        Object[] ids = applicationIds.toArray();
+        
+        // Notifications point at either the application or one of its appointments
+        int notifications = deleteWhere(
+            "DELETE FROM notifications WHERE related_id = ANY(?) " +
+            "OR related_id IN (SELECT id FROM appointments WHERE application_id = ANY(?))", ids, 2);
+        int appointments = deleteWhere("DELETE FROM appointments WHERE application_id = ANY(?)", ids, 1);
+        int statusHistory = deleteWhere("DELETE FROM application_status_history WHERE application_id = ANY(?)", ids, 1);
+        int documents = deleteWhere("DELETE FROM application_documents WHERE application_id = ANY(?)", ids, 1);
+        int applications = deleteWhere(
+            "DELETE FROM applications WHERE id = ANY(?) AND deleted_at IS NOT NULL", ids, 1);
+        
+        return new PurgeResult(applications, documents, statusHistory, appointments, notifications);
+    }
+    
+    public long countDeleted() {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM applications WHERE deleted_at IS NOT NULL", Long.class);
+        return count != null ? count : 0;
+    }
+    
+    private int deleteWhere(String sql, Object[] ids, int idParameters) {
+        return jdbcTemplate.update(sql, ps -> {
+            for (int i = 1; i <= idParameters; i++) {
+                ps.setArray(i, ps.getConnection().createArrayOf("uuid", ids));
+            }
+        });
+    }
+}
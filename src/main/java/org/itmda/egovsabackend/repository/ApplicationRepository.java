@@ -1,15 +1,20 @@
 package org.itmda.egovsabackend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.itmda.egovsabackend.dto.ApplicationTrackingDto;
 import org.itmda.egovsabackend.entity.Application;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ApplicationRepository extends JpaRepository<Application, UUID> {
+public interface ApplicationRepository extends JpaRepository<Application, UUID>,
+        AdminApplicationQueryRepository, UserApplicationQueryRepository, ApplicationStatusUpdateRepository {
     
     List<Application> findByUserId(UUID userId);
     
@@ -22,4 +27,85 @@ public interface ApplicationRepository extends JpaRepository<Application, UUID>
     List<Application> findByServiceType(String serviceType);
     
     List<Application> findByUserIdOrderByCreatedAtDesc(UUID userId);
+    
+    @Query("SELECT a.serviceType FROM Application a WHERE a.id = :id")
+    Optional<String> findServiceTypeById(@Param("id") UUID id);
+    
+    @Query("SELECT new org.itmda.egovsabackend.dto.ApplicationTrackingDto(" +
+            "a.referenceNumber, a.status, a.currentStep, a.expectedCompletionDate) " +
+            "FROM Application a WHERE a.referenceNumber = :referenceNumber")
+    Optional<ApplicationTrackingDto> findTrackingByReferenceNumber(@Param("referenceNumber") String referenceNumber);
+    
+    /**
+     * Compare-and-set status transition in a single statement.
+     * Only updates the row if it is still in expectedStatus (and at expectedVersion, when given)
+     * and is not claimed by a reviewer other than :reviewerId under an unexpired lease;
+     * returns the updated row, or empty if the row is missing, claimed or was changed concurrently.
+     */
+    @Query(value = "UPDATE applications SET " +
+            "status = :newStatus, " +
+            "current_step = COALESCE(CAST(:currentStep AS VARCHAR), current_step), " +
+            "completed_at = COALESCE(CAST(:completedAt AS TIMESTAMP), completed_at), " +
+            "updated_at = :now, " +
+            "version = version + 1, " +
+            "claimed_by = NULL, " +
+            "claim_expires_at = NULL " +
+            "WHERE id = :id AND deleted_at IS NULL AND status = :expectedStatus " +
+            "AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion) " +
+            "AND (claimed_by IS NULL OR claimed_by = CAST(:reviewerId AS UUID) OR claim_expires_at < :now) " +
+            "RETURNING *",
+            nativeQuery = true)
+    Optional<Application> compareAndSetStatus(
+            @Param("id") UUID id,
+            @Param("reviewerId") UUID reviewerId,
+            @Param("expectedStatus") String expectedStatus,
+            @Param("expectedVersion") Long expectedVersion,
+            @Param("newStatus") String newStatus,
+            @Param("currentStep") String currentStep,
+            @Param("completedAt") LocalDateTime completedAt,
+            @Param("now") LocalDateTime now);
+    
+    /**
+     * Soft-delete an application (and drop any review claim); returns the deleted row,
+     * or empty if it does not exist or was already deleted
+     */
+    @Query(value = "UPDATE applications SET deleted_at = :now, updated_at = :now, version = version + 1, " +
+            "claimed_by = NULL, claim_expires_at = NULL " +
+            "WHERE id = :id AND deleted_at IS NULL " +
+            "RETURNING *",
+            nativeQuery = true)
+    Optional<Application> softDelete(@Param("id") UUID id, @Param("now") LocalDateTime now);
+    
+    /**
+     * Claim up to :limit unclaimed (or expired) applications in :status, oldest first.
+     * SKIP LOCKED makes concurrent reviewers pass over rows another claim is taking,
+     * so each caller gets a disjoint batch without waiting on locks.
+     * A reviewer's own unexpired claims are returned again with a renewed lease.
+     */
+    @Query(value = "UPDATE applications SET claimed_by = :reviewerId, claim_expires_at = :expiresAt " +
+            "WHERE id IN (" +
+            "SELECT id FROM applications " +
+            "WHERE status = :status AND deleted_at IS NULL " +
+            "AND (claimed_by IS NULL OR claim_expires_at < :now OR claimed_by = :reviewerId) " +
+            "ORDER BY created_at, id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *",
+            nativeQuery = true)
+    List<Application> claimForReview(
+            @Param("status") String status,
+            @Param("reviewerId") UUID reviewerId,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("limit") int limit);
+    
+    /**
+     * Give up a claim early; only the reviewer holding it can release it.
+     * Returns the applicant's user id, or empty if the reviewer does not hold the claim.
+     */
+    @Query(value = "UPDATE applications SET claimed_by = NULL, claim_expires_at = NULL " +
+            "WHERE id = :id AND claimed_by = :reviewerId " +
+            "RETURNING user_id",
+            nativeQuery = true)
+    Optional<UUID> releaseClaim(@Param("id") UUID id, @Param("reviewerId") UUID reviewerId);
 }
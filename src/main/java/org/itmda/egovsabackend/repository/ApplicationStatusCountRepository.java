@@ -0,0 +1,45 @@
+package org.itmda.egovsabackend.repository;
+
+import org.itmda.egovsabackend.entity.ApplicationStatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ApplicationStatusCountRepository extends JpaRepository<ApplicationStatusCount, String> {
+    
+    /**
+     * Atomically add delta to a status counter, creating the row on first use
+     */
+    @Modifying
+    @Query(value = "INSERT INTO application_status_counts (status, count) VALUES (:status, :delta) " +
+            "ON CONFLICT (status) DO UPDATE SET count = application_status_counts.count + EXCLUDED.count",
+            nativeQuery = true)
+    int increment(@Param("status") String status, @Param("delta") long delta);
+    
+    /**
+     * Block concurrent counter updates while the table is rebuilt
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE application_status_counts IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockTable();
+    
+    /**
+     * Set each status counter to the number of live applications in that status
+     */
+    @Modifying
+    @Query(value = "INSERT INTO application_status_counts (status, count) " +
+            "SELECT status, COUNT(*) FROM applications WHERE deleted_at IS NULL GROUP BY status " +
+            "ON CONFLICT (status) DO UPDATE SET count = EXCLUDED.count " +
+            "WHERE application_status_counts.count <> EXCLUDED.count",
+            nativeQuery = true)
+    int upsertFromApplications();
+    
+    @Modifying
+    @Query(value = "DELETE FROM application_status_counts c WHERE NOT EXISTS (" +
+            "SELECT 1 FROM applications a WHERE a.status = c.status AND a.deleted_at IS NULL)",
+            nativeQuery = true)
+    int deleteStatusesWithoutApplications();
+}
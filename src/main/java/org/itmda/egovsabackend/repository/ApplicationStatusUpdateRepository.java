@@ -0,0 +1,34 @@
+package org.itmda.egovsabackend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.entity.Application;
+
+/**
+ * Status transitions whose caller does not know the current status
+ */
+public interface ApplicationStatusUpdateRepository {
+    
+    /**
+     * Status the row had before the update, and the updated row
+     */
+    record StatusUpdate(String oldStatus, Application application) {
+    }
+    
+    /**
+     * Set the status in a single statement and return the status it replaced.
+     * Only updates the row if it is at expectedVersion (when given) and not claimed by a
+     * reviewer other than reviewerId under an unexpired lease; returns empty if the row is
+     * missing, claimed or at another version.
+     */
+    Optional<StatusUpdate> setStatus(
+            UUID id,
+            UUID reviewerId,
+            Long expectedVersion,
+            String newStatus,
+            String currentStep,
+            LocalDateTime completedAt,
+            LocalDateTime now);
+}
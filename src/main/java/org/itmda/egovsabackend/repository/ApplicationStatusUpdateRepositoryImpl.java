@@ -0,0 +1,67 @@
+package org.itmda.egovsabackend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.hibernate.query.NativeQuery;
+import org.itmda.egovsabackend.entity.Application;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Native UPDATE ... RETURNING that also returns the previous status. The row is locked in a
+ * sub-select first, so the status read there is the one this UPDATE replaces, even when
+ * another transaction changed it while we waited for the lock.
+ */
+public class ApplicationStatusUpdateRepositoryImpl implements ApplicationStatusUpdateRepository {
+    
+    private static final String SET_STATUS_SQL =
+        "UPDATE applications a SET " +
+        "status = :newStatus, " +
+        "current_step = COALESCE(CAST(:currentStep AS VARCHAR), a.current_step), " +
+        "completed_at = COALESCE(CAST(:completedAt AS TIMESTAMP), a.completed_at), " +
+        "updated_at = :now, " +
+        "version = a.version + 1, " +
+        "claimed_by = NULL, " +
+        "claim_expires_at = NULL " +
+        "FROM (SELECT id, status FROM applications WHERE id = :id AND deleted_at IS NULL FOR UPDATE) previous " +
+        "WHERE a.id = previous.id " +
+        "AND (CAST(:expectedVersion AS BIGINT) IS NULL OR a.version = :expectedVersion) " +
+        "AND (a.claimed_by IS NULL OR a.claimed_by = CAST(:reviewerId AS UUID) OR a.claim_expires_at < :now) " +
+        "RETURNING a.*, previous.status AS previous_status";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<StatusUpdate> setStatus(
+            UUID id,
+            UUID reviewerId,
+            Long expectedVersion,
+            String newStatus,
+            String currentStep,
+            LocalDateTime completedAt,
+            LocalDateTime now) {
+        
+        List<Object[]> rows = entityManager.createNativeQuery(SET_STATUS_SQL)
+            .unwrap(NativeQuery.class)
+            .addEntity("a", Application.class)
+            .addScalar("previous_status", String.class)
+            .setParameter("id", id)
+            .setParameter("reviewerId", reviewerId)
+            .setParameter("expectedVersion", expectedVersion)
+            .setParameter("newStatus", newStatus)
+            .setParameter("currentStep", currentStep)
+            .setParameter("completedAt", completedAt)
+            .setParameter("now", now)
+            .getResultList();
+        
+        return rows.stream()
+            .findFirst()
+            .map(row -> new StatusUpdate((String) row[1], (Application) row[0]));
+    }
+}
@@ -0,0 +1,127 @@
+package org.itmda.egovsabackend.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.entity.AuditOutboxEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC access to audit_outbox for AdminAuditWriter: batch appends inside the caller's
+ * transaction, and the relay's lock / copy / delete steps.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditOutboxRepository {
+    
+    private static final String SELECT_PENDING =
+        "SELECT id, record_id, application_id, user_id, action_type, details, occurred_at, attempts " +
+        "FROM audit_outbox WHERE dead_lettered_at IS NULL ";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public void insert(List<AuditOutboxEntry> entries) {
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO audit_outbox (record_id, application_id, user_id, action_type, details, occurred_at, attempts) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0)",
+            entries,
+            AdminBulkWriteRepository.BATCH_SIZE,
+            (ps, entry) -> {
+                ps.setObject(1, entry.getRecordId());
+                ps.setObject(2, entry.getApplicationId());
+                ps.setObject(3, entry.getUserId());
+                ps.setString(4, entry.getActionType());
+                ps.setString(5, entry.getDetails());
+                ps.setTimestamp(6, Timestamp.valueOf(entry.getOccurredAt()));
+            });
+    }
+    
+    /**
+     * Lock up to :limit pending entries, oldest first.
+     * SKIP LOCKED lets several instances relay at once without taking the same rows.
+     */
+    public List<AuditOutboxEntry> lockPending(int limit) {
+        return jdbcTemplate.query(SELECT_PENDING + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+            (rs, rowNum) -> mapEntry(rs), limit);
+    }
+    
+    /**
+     * Lock one pending entry, unless another relay holds it or it is gone
+     */
+    public Optional<AuditOutboxEntry> lockPending(long id) {
+        return jdbcTemplate.query(SELECT_PENDING + "AND id = ? FOR UPDATE SKIP LOCKED",
+            (rs, rowNum) -> mapEntry(rs), id).stream().findFirst();
+    }
+    
+    public List<Long> findPendingIds(int limit) {
+        return jdbcTemplate.queryForList(
+            "SELECT id FROM audit_outbox WHERE dead_lettered_at IS NULL ORDER BY id LIMIT ?", Long.class, limit);
+    }
+    
+    /**
+     * Copy admin actions to admin_actions. Ids come from the outbox, so a row that was
+     * already copied is skipped rather than duplicated.
+     */
+    public void insertAdminActions(List<AuditOutboxEntry> entries) {
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO admin_actions (id, action_type, application_id, user_id, details, timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (id) DO NOTHING",
+            entries,
+            AdminBulkWriteRepository.BATCH_SIZE,
+            (ps, entry) -> {
+                ps.setObject(1, entry.getRecordId());
+                ps.setString(2, entry.getActionType());
+                ps.setObject(3, entry.getApplicationId());
+                ps.setObject(4, entry.getUserId());
+                ps.setString(5, entry.getDetails());
+                ps.setTimestamp(6, Timestamp.valueOf(entry.getOccurredAt()));
+            });
+    }
+    
+    public int delete(List<Long> ids) {
+        return jdbcTemplate.update("DELETE FROM audit_outbox WHERE id = ANY(?)",
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+    
+    /**
+     * Count a failed relay attempt; the entry is dead-lettered once it reaches :maxAttempts
+     * 
+     * @return true if the entry is now dead-lettered
+     */
+    public boolean recordFailure(long id, String error, int maxAttempts, LocalDateTime now) {
+        List<Boolean> deadLettered = jdbcTemplate.queryForList(
+            "UPDATE audit_outbox SET attempts = attempts + 1, last_error = ?, " +
+            "dead_lettered_at = CASE WHEN attempts + 1 >= ? THEN ? END " +
+            "WHERE id = ? RETURNING dead_lettered_at IS NOT NULL",
+            Boolean.class,
+            error, maxAttempts, Timestamp.valueOf(now), id);
+        return !deadLettered.isEmpty() && deadLettered.get(0);
+    }
+    
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM audit_outbox WHERE dead_lettered_at IS NULL", Long.class);
+        return count != null ? count : 0;
+    }
+    
+    private AuditOutboxEntry mapEntry(ResultSet rs) throws SQLException {
+        AuditOutboxEntry entry = new AuditOutboxEntry();
+        entry.setId(rs.getLong("id"));
+        entry.setRecordId(rs.getObject("record_id", UUID.class));
+        entry.setApplicationId(rs.getObject("application_id", UUID.class));
+        entry.setUserId(rs.getObject("user_id", UUID.class));
+        entry.setActionType(rs.getString("action_type"));
+        entry.setDetails(rs.getString("details"));
+        entry.setOccurredAt(rs.getObject("occurred_at", LocalDateTime.class));
+        entry.setAttempts(rs.getInt("attempts"));
+        return entry;
+    }
+}
@@ -0,0 +1,55 @@
+package org.itmda.egovsabackend.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.dto.KeysetCursor;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Shared helpers for the Criteria-based query fragments
+ */
+final class CriteriaSupport {
+    
+    static final char LIKE_ESCAPE = '\\';
+    
+    private CriteriaSupport() {
+    }
+    
+    static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+    
+    /**
+     * LIKE pattern matching values that start with the given text, wildcards escaped
+     */
+    static String prefixPattern(String value) {
+        return value
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_") + "%";
+    }
+    
+    /**
+     * Rows strictly after the cursor in (sortField DESC NULLS FIRST, id DESC) order,
+     * which is Postgres' default ordering for DESC
+     */
+    static Predicate seekAfterDescending(
+            CriteriaBuilder cb,
+            Path<LocalDateTime> sortPath,
+            Path<UUID> idPath,
+            KeysetCursor after) {
+        
+        if (after.getSortValue() == null) {
+            return cb.or(
+                cb.and(cb.isNull(sortPath), cb.lessThan(idPath, after.getId())),
+                cb.isNotNull(sortPath));
+        }
+        return cb.or(
+            cb.lessThan(sortPath, after.getSortValue()),
+            cb.and(cb.equal(sortPath, after.getSortValue()), cb.lessThan(idPath, after.getId())));
+    }
+}
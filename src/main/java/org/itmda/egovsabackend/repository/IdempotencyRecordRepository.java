@@ -0,0 +1,66 @@
+package org.itmda.egovsabackend.repository;
+
+import java.time.LocalDateTime;
+
+import org.itmda.egovsabackend.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.RecordId> {
+    
+    /**
+     * Claim a key for processing. Succeeds (returns 1) for a new key, an expired one, or a
+     * claim abandoned before :staleBefore (e.g. the node processing it died); otherwise 0.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (scope, idempotency_key, request_hash, created_at, expires_at) " +
+            "VALUES (:scope, :key, :requestHash, :now, :expiresAt) " +
+            "ON CONFLICT (scope, idempotency_key) DO UPDATE SET " +
+            "request_hash = EXCLUDED.request_hash, created_at = EXCLUDED.created_at, " +
+            "expires_at = EXCLUDED.expires_at, status_code = NULL, response_body = NULL " +
+            "WHERE idempotency_keys.expires_at < :now " +
+            "OR (idempotency_keys.status_code IS NULL AND idempotency_keys.created_at < :staleBefore)",
+            nativeQuery = true)
+    int claim(
+            @Param("scope") String scope,
+            @Param("key") String key,
+            @Param("requestHash") String requestHash,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("staleBefore") LocalDateTime staleBefore);
+    
+    /**
+     * Store the response for a claim made at :claimedAt. Returns 0 if the claim has since been
+     * taken over (or released), so the caller can roll back instead of completing twice.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.statusCode = :statusCode, r.responseBody = :responseBody " +
+            "WHERE r.scope = :scope AND r.idempotencyKey = :key AND r.createdAt = :claimedAt AND r.statusCode IS NULL")
+    int complete(
+            @Param("scope") String scope,
+            @Param("key") String key,
+            @Param("claimedAt") LocalDateTime claimedAt,
+            @Param("statusCode") int statusCode,
+            @Param("responseBody") String responseBody);
+    
+    /**
+     * Drop an unfinished claim made at :claimedAt so the client can retry
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.scope = :scope AND r.idempotencyKey = :key " +
+            "AND r.createdAt = :claimedAt AND r.statusCode IS NULL")
+    int release(@Param("scope") String scope, @Param("key") String key, @Param("claimedAt") LocalDateTime claimedAt);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,10 +1,15 @@
 package org.itmda.egovsabackend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.itmda.egovsabackend.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,4 +18,26 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     List<Notification> findByUserIdAndIsActiveOrderByCreatedAtDesc(UUID userId, Boolean isActive);
     List<Notification> findByUserIdAndIsReadOrderByCreatedAtDesc(UUID userId, Boolean isRead);
     Long countByUserIdAndIsRead(UUID userId, Boolean isRead);
+    
+    // Bulk operations: one statement each, returning the number of rows affected.
+    // updatedAt is set explicitly because bulk JPQL bypasses @UpdateTimestamp.
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.updatedAt = :now " +
+            "WHERE n.userId = :userId AND n.isRead = false")
+    int markAllAsRead(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.updatedAt = :now " +
+            "WHERE n.userId = :userId AND n.id IN :ids AND n.isRead = false")
+    int markAsRead(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.isActive = false, n.updatedAt = :now " +
+            "WHERE n.userId = :userId AND n.isActive = true")
+    int deactivateAll(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.userId = :userId AND n.createdAt < :cutoff")
+    int deleteOlderThan(@Param("userId") UUID userId, @Param("cutoff") LocalDateTime cutoff);
 }
@@ -0,0 +1,38 @@
+package org.itmda.egovsabackend.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * jsonb functions for criteria queries on applications.application_data.
+ * Registered through META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class PostgresJsonFunctions implements FunctionContributor {
+    
+    /** jsonb_path_matches(data, path): the @@ operator, so the GIN (jsonb_path_ops) index applies */
+    static final String PATH_MATCHES = "jsonb_path_matches";
+    
+    /** jsonb_pick(data, 'a,b,c'): object with only the listed top-level keys */
+    static final String PICK = "jsonb_pick";
+    
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+            .getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<String> stringType = functionContributions.getTypeConfiguration()
+            .getBasicTypeRegistry().resolve(StandardBasicTypes.STRING);
+        
+        functionContributions.getFunctionRegistry().registerPattern(
+            PATH_MATCHES,
+            "(?1 @@ cast(?2 as jsonpath))",
+            booleanType);
+        
+        functionContributions.getFunctionRegistry().registerPattern(
+            PICK,
+            "coalesce((select jsonb_object_agg(k, ?1 -> k) from unnest(string_to_array(?2, ',')) as t(k) " +
+                "where jsonb_exists(?1, k)), '{}'::jsonb)",
+            stringType);
+    }
+}
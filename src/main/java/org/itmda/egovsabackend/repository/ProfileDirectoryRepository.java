@@ -0,0 +1,21 @@
+package org.itmda.egovsabackend.repository;
+
+import java.util.List;
+
+import org.itmda.egovsabackend.dto.AdminUserDto;
+import org.itmda.egovsabackend.dto.KeysetCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Admin user directory queries returning slim projections instead of Profile entities
+ */
+public interface ProfileDirectoryRepository {
+    
+    Page<AdminUserDto> findDirectory(String searchTerm, Pageable pageable);
+    
+    /**
+     * Keyset page ordered by (createdAt DESC, id DESC); a null cursor starts from the first row
+     */
+    List<AdminUserDto> findDirectoryAfter(String searchTerm, KeysetCursor after, int limit);
+}
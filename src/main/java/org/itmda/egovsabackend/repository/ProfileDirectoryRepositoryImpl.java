@@ -0,0 +1,115 @@
+package org.itmda.egovsabackend.repository;
+
+import static org.itmda.egovsabackend.repository.CriteriaSupport.LIKE_ESCAPE;
+import static org.itmda.egovsabackend.repository.CriteriaSupport.hasText;
+import static org.itmda.egovsabackend.repository.CriteriaSupport.prefixPattern;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.itmda.egovsabackend.dto.AdminUserDto;
+import org.itmda.egovsabackend.dto.KeysetCursor;
+import org.itmda.egovsabackend.entity.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Search is a prefix match on lower(full_name), lower(email), phone and id_number,
+ * each backed by a text_pattern_ops index in schema.sql.
+ */
+public class ProfileDirectoryRepositoryImpl implements ProfileDirectoryRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<AdminUserDto> findDirectory(String searchTerm, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        
+        CriteriaQuery<AdminUserDto> query = cb.createQuery(AdminUserDto.class);
+        Root<Profile> profile = query.from(Profile.class);
+        query.select(selectUser(cb, profile))
+            .where(buildPredicates(cb, profile, searchTerm))
+            .orderBy(QueryUtils.toOrders(pageable.getSort(), profile, cb));
+        
+        TypedQuery<AdminUserDto> pageQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            pageQuery.setFirstResult((int) pageable.getOffset());
+            pageQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<AdminUserDto> users = pageQuery.getResultList();
+        
+        return PageableExecutionUtils.getPage(users, pageable, () -> count(cb, searchTerm));
+    }
+    
+    @Override
+    public List<AdminUserDto> findDirectoryAfter(String searchTerm, KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        
+        CriteriaQuery<AdminUserDto> query = cb.createQuery(AdminUserDto.class);
+        Root<Profile> profile = query.from(Profile.class);
+        
+        List<Predicate> predicates = new ArrayList<>(List.of(buildPredicates(cb, profile, searchTerm)));
+        if (after != null) {
+            predicates.add(CriteriaSupport.seekAfterDescending(
+                cb, profile.get("createdAt"), profile.get("id"), after));
+        }
+        
+        query.select(selectUser(cb, profile))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(profile.get("createdAt")), cb.desc(profile.get("id")));
+        
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+    
+    private long count(CriteriaBuilder cb, String searchTerm) {
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<Profile> profile = countQuery.from(Profile.class);
+        countQuery.select(cb.count(profile))
+            .where(buildPredicates(cb, profile, searchTerm));
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+    
+    private CompoundSelection<AdminUserDto> selectUser(CriteriaBuilder cb, Root<Profile> profile) {
+        return cb.construct(AdminUserDto.class,
+            profile.get("id"),
+            profile.get("fullName"),
+            profile.get("email"),
+            profile.get("phone"),
+            profile.get("idNumber"),
+            profile.get("isVerified"),
+            profile.get("createdAt"));
+    }
+    
+    private Predicate[] buildPredicates(CriteriaBuilder cb, Root<Profile> profile, String searchTerm) {
+        if (!hasText(searchTerm)) {
+            return new Predicate[0];
+        }
+        
+        String term = searchTerm.trim();
+        String lowerPattern = prefixPattern(term.toLowerCase(Locale.ROOT));
+        String rawPattern = prefixPattern(term);
+        
+        return new Predicate[] {
+            cb.or(
+                cb.like(cb.lower(profile.<String>get("fullName")), lowerPattern, LIKE_ESCAPE),
+                cb.like(cb.lower(profile.<String>get("email")), lowerPattern, LIKE_ESCAPE),
+                cb.like(profile.<String>get("phone"), rawPattern, LIKE_ESCAPE),
+                cb.like(profile.<String>get("idNumber"), rawPattern, LIKE_ESCAPE))
+        };
+    }
+}
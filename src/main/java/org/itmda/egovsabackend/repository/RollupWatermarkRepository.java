@@ -0,0 +1,23 @@
+package org.itmda.egovsabackend.repository;
+
+import java.util.Optional;
+
+import org.itmda.egovsabackend.entity.RollupWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, String> {
+    
+    /**
+     * Lock the watermark row so only one node advances a job at a time
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM RollupWatermark w WHERE w.jobName = :jobName")
+    Optional<RollupWatermark> findForUpdate(@Param("jobName") String jobName);
+}
@@ -0,0 +1,24 @@
+package org.itmda.egovsabackend.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.dto.ApplicationSummaryDto;
+import org.itmda.egovsabackend.dto.KeysetCursor;
+
+/**
+ * Paged queries over one user's applications
+ */
+public interface UserApplicationQueryRepository {
+    
+    /**
+     * Keyset page: up to {@code limit} of the user's applications after the cursor,
+     * newest first by (createdAt, id). Statuses are optional; null or empty means all.
+     */
+    List<ApplicationSummaryDto> findUserSummariesAfter(
+            UUID userId,
+            Collection<String> statuses,
+            KeysetCursor after,
+            int limit);
+}
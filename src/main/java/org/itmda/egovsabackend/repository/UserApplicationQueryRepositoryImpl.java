@@ -0,0 +1,76 @@
+package org.itmda.egovsabackend.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.dto.ApplicationSummaryDto;
+import org.itmda.egovsabackend.dto.KeysetCursor;
+import org.itmda.egovsabackend.entity.Application;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria-based implementation of the user application list.
+ * Served by the (user_id, created_at DESC, id DESC) and
+ * (user_id, status, created_at DESC, id DESC) indexes on applications.
+ */
+public class UserApplicationQueryRepositoryImpl implements UserApplicationQueryRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<ApplicationSummaryDto> findUserSummariesAfter(
+            UUID userId,
+            Collection<String> statuses,
+            KeysetCursor after,
+            int limit) {
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ApplicationSummaryDto> query = cb.createQuery(ApplicationSummaryDto.class);
+        Root<Application> application = query.from(Application.class);
+        
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(application.get("userId"), userId));
+        if (statuses != null && !statuses.isEmpty()) {
+            predicates.add(statuses.size() == 1
+                ? cb.equal(application.get("status"), statuses.iterator().next())
+                : application.get("status").in(statuses));
+        }
+        
+        Path<LocalDateTime> createdAt = application.get("createdAt");
+        if (after != null) {
+            predicates.add(CriteriaSupport.seekAfterDescending(cb, createdAt, application.get("id"), after));
+        }
+        
+        // applicationData and documents are deliberately not selected
+        query.select(cb.construct(ApplicationSummaryDto.class,
+                application.get("id"),
+                application.get("userId"),
+                application.get("serviceType"),
+                application.get("referenceNumber"),
+                application.get("status"),
+                application.get("currentStep"),
+                application.get("submittedAt"),
+                application.get("expectedCompletionDate"),
+                application.get("completedAt"),
+                createdAt,
+                application.get("updatedAt"),
+                application.get("version")))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(createdAt), cb.desc(application.get("id")));
+        
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
@@ -0,0 +1,143 @@
+package org.itmda.egovsabackend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.itmda.egovsabackend.entity.AdminAction;
+import org.itmda.egovsabackend.entity.AuditOutboxEntry;
+import org.itmda.egovsabackend.repository.AuditOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Write-behind pipeline for admin_actions, built on a transactional outbox.
+ * Status history is not part of it: it is written in the business transaction, so the
+ * timeline and the daily rollups see a transition as soon as it commits.
+ * 
+ * record appends a row to audit_outbox inside the caller's transaction, so an admin action
+ * exists exactly when the change it describes committed, and survives a crash. The append
+ * touches no locked rows and no indexes but the primary key. A scheduled relay locks outbox
+ * rows with FOR UPDATE SKIP LOCKED, copies them to admin_actions in JDBC batches and deletes
+ * them, all in one transaction.
+ * 
+ * When a batch fails, its rows are relayed one at a time so a single bad row cannot stall
+ * the rest. A row that fails max-attempts times is dead-lettered and left in the outbox.
+ */
+@Service
+public class AdminAuditWriter {
+    
+    private final AuditOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+    
+    private final AtomicLong backlog = new AtomicLong();
+    private final Timer flushTimer;
+    private final Counter flushedRecords;
+    private final Counter failedAttempts;
+    private final Counter deadLettered;
+    
+    public AdminAuditWriter(
+            AuditOutboxRepository outboxRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${audit.max-batch-size:500}") int maxBatchSize,
+            @Value("${audit.max-attempts:5}") int maxAttempts) {
+        
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = maxAttempts;
+        
+        meterRegistry.gauge("audit.outbox.depth", backlog);
+        this.flushTimer = meterRegistry.timer("audit.flush.latency");
+        this.flushedRecords = meterRegistry.counter("audit.flush.records");
+        this.failedAttempts = meterRegistry.counter("audit.flush.failures");
+        this.deadLettered = meterRegistry.counter("audit.outbox.dead.lettered");
+    }
+    
+    /**
+     * Append an admin action to the outbox, in the current transaction
+     */
+    public void record(AdminAction action) {
+        recordAll(List.of(action));
+    }
+    
+    /**
+     * Append admin actions to the outbox in one batch, in the current transaction
+     */
+    public void recordAll(List<AdminAction> actions) {
+        if (!actions.isEmpty()) {
+            outboxRepository.insert(actions.stream().map(AuditOutboxEntry::of).toList());
+        }
+    }
+    
+    /**
+     * Relay outbox rows in batches until the outbox is empty
+     */
+    @Scheduled(fixedDelayString = "${audit.flush-interval-ms:500}")
+    public void flush() {
+        try {
+            int relayed;
+            do {
+                try {
+                    relayed = flushTimer.record(() -> transactionTemplate.execute(tx -> relayBatch()));
+                } catch (RuntimeException e) {
+                    System.err.println("Error relaying audit batch, retrying row by row: " + e.getMessage());
+                    relayOneByOne();
+                    break;
+                }
+            } while (relayed == maxBatchSize);
+            backlog.set(outboxRepository.countPending());
+        } catch (Exception e) {
+            System.err.println("Error relaying audit outbox: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Copy and delete one batch of outbox rows (runs inside a transaction)
+     * 
+     * @return Number of rows relayed
+     */
+    int relayBatch() {
+        List<AuditOutboxEntry> entries = outboxRepository.lockPending(maxBatchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        outboxRepository.insertAdminActions(entries);
+        outboxRepository.delete(entries.stream().map(AuditOutboxEntry::getId).toList());
+        flushedRecords.increment(entries.size());
+        return entries.size();
+    }
+    
+    /**
+     * Relay the next batch one row per transaction, counting failures against each row
+     */
+    void relayOneByOne() {
+        for (Long id : outboxRepository.findPendingIds(maxBatchSize)) {
+            try {
+                transactionTemplate.executeWithoutResult(tx -> outboxRepository.lockPending(id).ifPresent(entry -> {
+                    outboxRepository.insertAdminActions(List.of(entry));
+                    outboxRepository.delete(List.of(id));
+                    flushedRecords.increment();
+                }));
+            } catch (RuntimeException e) {
+                failedAttempts.increment();
+                boolean dead = transactionTemplate.execute(tx ->
+                    outboxRepository.recordFailure(id, String.valueOf(e.getMessage()), maxAttempts, LocalDateTime.now()));
+                if (dead) {
+                    deadLettered.increment();
+                    System.err.println("Audit outbox entry " + id + " dead-lettered: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -1,20 +1,36 @@
 package org.itmda.egovsabackend.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import org.itmda.egovsabackend.dto.AdminActionDto;
+import org.itmda.egovsabackend.dto.AdminActionFilter;
 import org.itmda.egovsabackend.dto.AdminApplicationDto;
+import org.itmda.egovsabackend.dto.AdminApplicationFilter;
+import org.itmda.egovsabackend.dto.AdminApplicationRow;
 import org.itmda.egovsabackend.dto.AdminStatisticsDto;
+import org.itmda.egovsabackend.dto.AdminUserDto;
+import org.itmda.egovsabackend.dto.KeysetCursor;
 import org.itmda.egovsabackend.dto.ApplicationDocumentDto;
+import org.itmda.egovsabackend.dto.BulkActionResultDto;
+import org.itmda.egovsabackend.dto.BulkApplicationActionRequest;
+import org.itmda.egovsabackend.dto.CursorPage;
 import org.itmda.egovsabackend.dto.NotificationDto;
 import org.itmda.egovsabackend.entity.AdminAction;
 import org.itmda.egovsabackend.entity.Application;
 import org.itmda.egovsabackend.entity.ApplicationDocument;
 import org.itmda.egovsabackend.entity.ApplicationStatusHistory;
+import org.itmda.egovsabackend.entity.Notification;
 import org.itmda.egovsabackend.entity.Profile;
 import org.itmda.egovsabackend.repository.AdminActionRepository;
+import org.itmda.egovsabackend.repository.AdminBulkWriteRepository;
 import org.itmda.egovsabackend.repository.ApplicationDocumentRepository;
 import org.itmda.egovsabackend.repository.ApplicationRepository;
 import org.itmda.egovsabackend.repository.ApplicationStatusHistoryRepository;
@@ -37,7 +53,20 @@ public class AdminService {
     private final ApplicationDocumentRepository documentRepository;
     private final ApplicationStatusHistoryRepository statusHistoryRepository;
     private final AdminActionRepository adminActionRepository;
+    private final AdminAuditWriter auditWriter;
     private final NotificationService notificationService;
+    private final ApplicationStatusCounterService statusCounterService;
+    private final AdminBulkWriteRepository bulkWriteRepository;
+    private final ApplicationTransitionService transitionService;
+    private final ApplicationStatusStreamService statusStreamService;
+    
+    private static final int MAX_BULK_SIZE = 1000;
+    private static final int MAX_APPLICATION_PAGE_SIZE = 200;
+    private static final int MAX_DIRECTORY_PAGE_SIZE = 200;
+    private static final int MAX_AUDIT_PAGE_SIZE = 200;
+    private static final int DEFAULT_AUDIT_WINDOW_DAYS = 30;
+    private static final int MAX_DATA_FIELDS = 50;
+    private static final Pattern DATA_FIELD_PATTERN = Pattern.compile("[A-Za-z0-9_\\-]{1,100}");
     
     /**
      * Get all applications with pagination and filtering
@@ -46,9 +75,10 @@ public class AdminService {
             int page, 
             int size, 
             String sortBy,
-            String status,
-            String serviceType,
-            String searchTerm) {
+            AdminApplicationFilter filter) {
+        
+        validateDataFields(filter.getDataFields());
+        validateDataPath(filter.getDataPath());
         
         try {
             // Default to sorting by createdAt (which exists in the Application entity)
@@ -60,14 +90,20 @@ public class AdminService {
                 sortField = "createdAt";
             }
             
-            Sort sort = Sort.by(Sort.Direction.DESC, sortField);
-            Pageable pageable = PageRequest.of(page, size, sort);
+            // Tie-break on id so rows with equal timestamps page deterministically
+            Sort sort = Sort.by(Sort.Direction.DESC, sortField, "id");
+            Pageable pageable = PageRequest.of(page, Math.min(Math.max(size, 1), MAX_APPLICATION_PAGE_SIZE), sort);
             
-            // Simply get all applications with pagination
-            Page<Application> applications = applicationRepository.findAll(pageable);
+            // One joined, filtered query for applications + applicant profiles
+            Page<AdminApplicationRow> rows = applicationRepository.findAdminRows(filter, pageable);
             
-            // Convert to DTOs
-            return applications.map(this::convertToAdminDto);
+            // One batched query for the documents of every application on the page
+            Map<UUID, List<ApplicationDocumentDto>> documentsByApplication = findDocumentsByApplication(
+                rows.getContent().stream().map(AdminApplicationRow::getId).collect(Collectors.toList()));
+            
+            // Assemble DTOs in memory
+            return rows.map(row -> convertRowToAdminDto(row,
+                documentsByApplication.getOrDefault(row.getId(), List.of()), filter));
         } catch (Exception e) {
             System.err.println("Error in getAllApplications: " + e.getMessage());
             e.printStackTrace();
@@ -75,19 +111,77 @@ public class AdminService {
         }
     }
     
+    /**
+     * Get applications using keyset (seek) pagination.
+     * Seeks directly past the cursor on (sortField, id) instead of skipping offset rows,
+     * and only counts the full result set when includeTotal is requested.
+     */
+    public CursorPage<AdminApplicationDto> getApplicationsAfter(
+            int size,
+            String sortBy,
+            AdminApplicationFilter filter,
+            String cursor,
+            boolean includeTotal) {
+        
+        validateDataFields(filter.getDataFields());
+        validateDataPath(filter.getDataPath());
+        
+        String sortField = sortBy != null ? sortBy : "createdAt";
+        
+        // Keyset paging needs a timestamp sort key; status is too coarse to seek on
+        if (!sortField.equals("createdAt") && !sortField.equals("submittedAt") && 
+            !sortField.equals("updatedAt")) {
+            sortField = "createdAt";
+        }
+        
+        KeysetCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = KeysetCursor.decode(cursor);
+            if (!sortField.equals(after.getSortField())) {
+                throw new IllegalArgumentException("Cursor was issued for sort field " + after.getSortField());
+            }
+        }
+        
+        int pageSize = Math.min(Math.max(size, 1), MAX_APPLICATION_PAGE_SIZE);
+        
+        // Fetch one extra row to learn whether another page exists
+        List<AdminApplicationRow> rows = applicationRepository.findAdminRowsAfter(filter, sortField, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+        
+        Map<UUID, List<ApplicationDocumentDto>> documentsByApplication = findDocumentsByApplication(
+            rows.stream().map(AdminApplicationRow::getId).collect(Collectors.toList()));
+        
+        List<AdminApplicationDto> content = rows.stream()
+            .map(row -> convertRowToAdminDto(row, documentsByApplication.getOrDefault(row.getId(), List.of()), filter))
+            .collect(Collectors.toList());
+        
+        String nextCursor = null;
+        if (hasNext) {
+            AdminApplicationRow last = rows.get(rows.size() - 1);
+            nextCursor = new KeysetCursor(sortField, sortValue(last, sortField), last.getId()).encode();
+        }
+        
+        Long total = includeTotal ? applicationRepository.countAdminRows(filter) : null;
+        
+        return new CursorPage<>(content, nextCursor, hasNext, total);
+    }
+    
     /**
      * Get dashboard statistics
      */
     public AdminStatisticsDto getStatistics() {
-        // Get all applications once
-        List<Application> allApps = applicationRepository.findAll();
+        // Counters are maintained transactionally on every status change
+        Map<String, Long> counts = statusCounterService.getCounts();
         
-        long total = allApps.size();
-        long underReview = allApps.stream().filter(a -> "Under Review".equals(a.getStatus())).count();
-        long completed = allApps.stream().filter(a -> "Completed".equals(a.getStatus())).count();
-        long rejected = allApps.stream().filter(a -> "Rejected".equals(a.getStatus())).count();
-        long inProgress = allApps.stream().filter(a -> "In Progress".equals(a.getStatus())).count();
-        long pendingPayment = allApps.stream().filter(a -> "Pending Payment".equals(a.getStatus())).count();
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        long underReview = counts.getOrDefault("Under Review", 0L);
+        long completed = counts.getOrDefault("Completed", 0L);
+        long rejected = counts.getOrDefault("Rejected", 0L);
+        long inProgress = counts.getOrDefault("In Progress", 0L);
+        long pendingPayment = counts.getOrDefault("Pending Payment", 0L);
         
         AdminStatisticsDto stats = new AdminStatisticsDto();
         stats.setTotalApplications(total);
@@ -104,82 +198,70 @@ public class AdminService {
      * Approve an application
      */
     @Transactional
-    public AdminApplicationDto approveApplication(UUID applicationId, String notes) {
-        Application application = applicationRepository.findById(applicationId)
-            .orElseThrow(() -> new RuntimeException("Application not found"));
-        
-        String oldStatus = application.getStatus();
-        
-        // Update application status
-        application.setStatus("Completed");
-        application.setCurrentStep("Approved");
-        application.setCompletedAt(LocalDateTime.now());
+    public AdminApplicationDto approveApplication(
+            UUID applicationId, UUID reviewerId, String notes, String expectedStatus, Long expectedVersion) {
         
-        Application updated = applicationRepository.save(application);
+        ApplicationTransitionService.Transition transition = transitionService.transition(
+            applicationId, reviewerId, expectedStatus, expectedVersion, "Completed", "Approved", LocalDateTime.now());
+        Application application = transition.application();
         
         // Log status change
-        logStatusChange(applicationId, oldStatus, "Completed", notes);
+        logStatusChange(applicationId, transition.oldStatus(), "Completed", notes);
         
         // Log admin action
         logAdminAction("APPROVE", applicationId, application.getUserId(), 
             "Application approved: " + application.getReferenceNumber());
         
         // Send notification to user
-        sendApprovalNotification(application);
+        notificationService.createNotification(buildApprovalNotification(application));
         
-        return convertToAdminDto(updated);
+        return convertToAdminDto(application);
     }
     
     /**
      * Reject an application
      */
     @Transactional
-    public AdminApplicationDto rejectApplication(UUID applicationId, String notes) {
-        Application application = applicationRepository.findById(applicationId)
-            .orElseThrow(() -> new RuntimeException("Application not found"));
+    public AdminApplicationDto rejectApplication(
+            UUID applicationId, UUID reviewerId, String notes, String expectedStatus, Long expectedVersion) {
         
-        String oldStatus = application.getStatus();
-        
-        // Update application status
-        application.setStatus("Rejected");
-        application.setCurrentStep("Rejected");
-        application.setCompletedAt(LocalDateTime.now());
-        
-        Application updated = applicationRepository.save(application);
+        ApplicationTransitionService.Transition transition = transitionService.transition(
+            applicationId, reviewerId, expectedStatus, expectedVersion, "Rejected", "Rejected", LocalDateTime.now());
+        Application application = transition.application();
         
         // Log status change
-        logStatusChange(applicationId, oldStatus, "Rejected", notes);
+        logStatusChange(applicationId, transition.oldStatus(), "Rejected", notes);
         
         // Log admin action
         logAdminAction("REJECT", applicationId, application.getUserId(), 
             "Application rejected: " + application.getReferenceNumber());
         
         // Send notification to user
-        sendRejectionNotification(application);
+        notificationService.createNotification(buildRejectionNotification(application));
         
-        return convertToAdminDto(updated);
+        return convertToAdminDto(application);
     }
     
     /**
      * Update application status (generic)
      */
     @Transactional
-    public AdminApplicationDto updateApplicationStatus(UUID applicationId, String status, String currentStep, String notes) {
-        Application application = applicationRepository.findById(applicationId)
-            .orElseThrow(() -> new RuntimeException("Application not found"));
+    public AdminApplicationDto updateApplicationStatus(
+            UUID applicationId, 
+            UUID reviewerId,
+            String status, 
+            String currentStep, 
+            String notes,
+            String expectedStatus,
+            Long expectedVersion) {
         
-        String oldStatus = application.getStatus();
-        
-        application.setStatus(status);
-        if (currentStep != null) {
-            application.setCurrentStep(currentStep);
-        }
-        
-        if ("Completed".equalsIgnoreCase(status) || "Rejected".equalsIgnoreCase(status)) {
-            application.setCompletedAt(LocalDateTime.now());
-        }
-        
-        Application updated = applicationRepository.save(application);
+        LocalDateTime completedAt = "Completed".equalsIgnoreCase(status) || "Rejected".equalsIgnoreCase(status)
+            ? LocalDateTime.now()
+            : null;
+        ApplicationTransitionService.Transition transition = transitionService.transition(
+            applicationId, reviewerId, expectedStatus, expectedVersion, status, currentStep, completedAt);
+        Application application = transition.application();
+        String oldStatus = transition.oldStatus();
         
         // Log status change
         logStatusChange(applicationId, oldStatus, status, notes);
@@ -189,16 +271,223 @@ public class AdminService {
             String.format("Status changed from %s to %s", oldStatus, status));
         
         // Send notification
-        sendStatusUpdateNotification(application, oldStatus, status);
+        notificationService.createNotification(buildStatusUpdateNotification(application, status));
+        
+        return convertToAdminDto(application);
+    }
+    
+    /**
+     * Approve, reject or update the status of many applications at once.
+     * Targets are loaded with one query; application updates, status history,
+     * admin actions and notifications are each written as JDBC batches.
+     */
+    @Transactional
+    public List<BulkActionResultDto> bulkUpdateApplications(BulkApplicationActionRequest request) {
+        List<UUID> applicationIds = request.getApplicationIds() != null
+            ? request.getApplicationIds().stream().distinct().collect(Collectors.toList())
+            : List.of();
+        if (applicationIds.isEmpty()) {
+            throw new IllegalArgumentException("applicationIds must not be empty");
+        }
+        if (applicationIds.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " applications per bulk request");
+        }
+        
+        String action = request.getAction() != null ? request.getAction().toUpperCase() : "";
+        String newStatus;
+        String newStep;
+        switch (action) {
+            case "APPROVE" -> {
+                newStatus = "Completed";
+                newStep = "Approved";
+            }
+            case "REJECT" -> {
+                newStatus = "Rejected";
+                newStep = "Rejected";
+            }
+            case "UPDATE_STATUS" -> {
+                if (request.getStatus() == null || request.getStatus().isBlank()) {
+                    throw new IllegalArgumentException("status is required for UPDATE_STATUS");
+                }
+                newStatus = request.getStatus();
+                newStep = request.getCurrentStep();
+            }
+            default -> throw new IllegalArgumentException("Unsupported bulk action: " + request.getAction());
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime completedAt = "Completed".equalsIgnoreCase(newStatus) || "Rejected".equalsIgnoreCase(newStatus)
+            ? now
+            : null;
+        
+        // One query for all targets
+        Map<UUID, Application> applications = applicationRepository.findAllById(applicationIds).stream()
+            .collect(Collectors.toMap(Application::getId, application -> application));
+        
+        // Each row is only updated if it is still in the status read above and not claimed by another reviewer
+        Map<UUID, String> expectedStatuses = new HashMap<>();
+        applications.forEach((id, application) -> expectedStatuses.put(id, application.getStatus()));
+        Set<UUID> updatedIds = expectedStatuses.isEmpty()
+            ? Set.of()
+            : bulkWriteRepository.updateApplicationStatuses(
+                expectedStatuses, request.getReviewerId(), newStatus, newStep, completedAt, now);
+        
+        List<BulkActionResultDto> results = new ArrayList<>(applicationIds.size());
+        List<ApplicationStatusHistory> historyRows = new ArrayList<>();
+        List<AdminAction> actionRows = new ArrayList<>();
+        List<Notification> notificationRows = new ArrayList<>();
+        Map<String, Long> statusDeltas = new HashMap<>();
+        
+        for (UUID applicationId : applicationIds) {
+            Application application = applications.get(applicationId);
+            if (application == null) {
+                results.add(new BulkActionResultDto(applicationId, false, null, "Application not found"));
+                continue;
+            }
+            if (!updatedIds.contains(applicationId)) {
+                results.add(new BulkActionResultDto(applicationId, false, null,
+                    ApplicationTransitionService.isClaimedByAnother(application, request.getReviewerId(), now)
+                        ? "Application is claimed by another reviewer"
+                        : "Application was modified concurrently"));
+                continue;
+            }
+            
+            String oldStatus = application.getStatus();
+            
+            ApplicationStatusHistory history = new ApplicationStatusHistory();
+            history.setApplicationId(applicationId);
+            history.setOldStatus(oldStatus);
+            history.setNewStatus(newStatus);
+            history.setNotes(request.getNotes());
+            historyRows.add(history);
+            
+            AdminAction adminAction = new AdminAction();
+            adminAction.setActionType(action);
+            adminAction.setApplicationId(applicationId);
+            adminAction.setUserId(application.getUserId());
+            adminAction.setTimestamp(now);
+            adminAction.setDetails(switch (action) {
+                case "APPROVE" -> "Application approved: " + application.getReferenceNumber();
+                case "REJECT" -> "Application rejected: " + application.getReferenceNumber();
+                default -> String.format("Status changed from %s to %s", oldStatus, newStatus);
+            });
+            actionRows.add(adminAction);
+            
+            NotificationDto notification = switch (action) {
+                case "APPROVE" -> buildApprovalNotification(application);
+                case "REJECT" -> buildRejectionNotification(application);
+                default -> buildStatusUpdateNotification(application, newStatus);
+            };
+            notificationRows.add(new Notification(notification.getUserId(), notification.getTitle(),
+                notification.getDescription(), notification.getNotificationType(), notification.getRelatedId()));
+            
+            if (!newStatus.equals(oldStatus)) {
+                statusDeltas.merge(oldStatus, -1L, Long::sum);
+                statusDeltas.merge(newStatus, 1L, Long::sum);
+            }
+            
+            statusStreamService.publishAfterCommit(application.getUserId(), applicationId,
+                application.getReferenceNumber(), oldStatus, newStatus,
+                newStep != null ? newStep : application.getCurrentStep());
+            
+            results.add(new BulkActionResultDto(applicationId, true, newStatus, null));
+        }
+        
+        if (!updatedIds.isEmpty()) {
+            // Status history commits with the transition; only admin actions are written behind
+            bulkWriteRepository.insertStatusHistory(historyRows, now);
+            auditWriter.recordAll(actionRows);
+            bulkWriteRepository.insertNotifications(notificationRows, now);
+            statusCounterService.recordDeltas(statusDeltas);
+        }
         
-        return convertToAdminDto(updated);
+        return results;
     }
     
     /**
-     * Get all users (profiles)
+     * Get a page of the user directory, newest first, optionally filtered by a
+     * name / email / phone / ID number prefix
      */
-    public List<Profile> getAllUsers() {
-        return profileRepository.findAll();
+    public Page<AdminUserDto> getUsers(int page, int size, String searchTerm) {
+        Pageable pageable = PageRequest.of(page, Math.min(Math.max(size, 1), MAX_DIRECTORY_PAGE_SIZE),
+            Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        return profileRepository.findDirectory(searchTerm, pageable);
+    }
+    
+    /**
+     * Get the user directory using keyset pagination on (createdAt, id)
+     */
+    public CursorPage<AdminUserDto> getUsersAfter(int size, String searchTerm, String cursor) {
+        int limit = Math.min(Math.max(size, 1), MAX_DIRECTORY_PAGE_SIZE);
+        
+        KeysetCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = KeysetCursor.decode(cursor);
+            if (!"createdAt".equals(after.getSortField())) {
+                throw new IllegalArgumentException("Cursor was issued for sort field " + after.getSortField());
+            }
+        }
+        
+        List<AdminUserDto> users = profileRepository.findDirectoryAfter(searchTerm, after, limit + 1);
+        boolean hasNext = users.size() > limit;
+        if (hasNext) {
+            users = users.subList(0, limit);
+        }
+        
+        String nextCursor = null;
+        if (hasNext) {
+            AdminUserDto last = users.get(users.size() - 1);
+            nextCursor = new KeysetCursor("createdAt", last.getCreatedAt(), last.getId()).encode();
+        }
+        
+        return new CursorPage<>(users, nextCursor, hasNext, null);
+    }
+    
+    /**
+     * Query the admin audit log with optional filters and keyset pagination.
+     * Listings not scoped to an application or user default to the 30 days before 'to',
+     * so they stay a bounded BRIN range scan instead of a sort over the whole table.
+     */
+    public CursorPage<AdminActionDto> getAuditLog(
+            UUID applicationId,
+            UUID userId,
+            String actionType,
+            LocalDateTime from,
+            LocalDateTime to,
+            int size,
+            String cursor) {
+        
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (from == null && applicationId == null && userId == null) {
+            from = (to != null ? to : LocalDateTime.now()).minusDays(DEFAULT_AUDIT_WINDOW_DAYS);
+        }
+        
+        KeysetCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = KeysetCursor.decode(cursor);
+            if (!"timestamp".equals(after.getSortField())) {
+                throw new IllegalArgumentException("Cursor was issued for sort field " + after.getSortField());
+            }
+        }
+        
+        int limit = Math.min(Math.max(size, 1), MAX_AUDIT_PAGE_SIZE);
+        AdminActionFilter filter = new AdminActionFilter(applicationId, userId, actionType, from, to);
+        
+        List<AdminActionDto> actions = adminActionRepository.findAuditLogAfter(filter, after, limit + 1);
+        boolean hasNext = actions.size() > limit;
+        if (hasNext) {
+            actions = actions.subList(0, limit);
+        }
+        
+        String nextCursor = null;
+        if (hasNext) {
+            AdminActionDto last = actions.get(actions.size() - 1);
+            nextCursor = new KeysetCursor("timestamp", last.getTimestamp(), last.getId()).encode();
+        }
+        
+        return new CursorPage<>(actions, nextCursor, hasNext, null);
     }
     
     // Helper methods
@@ -218,10 +507,10 @@ public class AdminService {
         action.setApplicationId(applicationId);
         action.setUserId(userId);
         action.setDetails(details);
-        adminActionRepository.save(action);
+        auditWriter.record(action);
     }
     
-    private void sendApprovalNotification(Application application) {
+    private NotificationDto buildApprovalNotification(Application application) {
         NotificationDto notification = new NotificationDto();
         notification.setUserId(application.getUserId());
         notification.setTitle("Application Approved");
@@ -232,11 +521,10 @@ public class AdminService {
         ));
         notification.setNotificationType("application_status");
         notification.setRelatedId(application.getId());
-        
-        notificationService.createNotification(notification);
+        return notification;
     }
     
-    private void sendRejectionNotification(Application application) {
+    private NotificationDto buildRejectionNotification(Application application) {
         NotificationDto notification = new NotificationDto();
         notification.setUserId(application.getUserId());
         notification.setTitle("Application Rejected");
@@ -247,11 +535,10 @@ public class AdminService {
         ));
         notification.setNotificationType("application_status");
         notification.setRelatedId(application.getId());
-        
-        notificationService.createNotification(notification);
+        return notification;
     }
     
-    private void sendStatusUpdateNotification(Application application, String oldStatus, String newStatus) {
+    private NotificationDto buildStatusUpdateNotification(Application application, String newStatus) {
         NotificationDto notification = new NotificationDto();
         notification.setUserId(application.getUserId());
         notification.setTitle("Application Status Updated");
@@ -263,8 +550,79 @@ public class AdminService {
         ));
         notification.setNotificationType("application_status");
         notification.setRelatedId(application.getId());
+        return notification;
+    }
+    
+    private LocalDateTime sortValue(AdminApplicationRow row, String sortField) {
+        return switch (sortField) {
+            case "submittedAt" -> row.getSubmittedAt();
+            case "updatedAt" -> row.getUpdatedAt();
+            default -> row.getCreatedAt();
+        };
+    }
+    
+    private Map<UUID, List<ApplicationDocumentDto>> findDocumentsByApplication(List<UUID> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return Map.of();
+        }
+        return documentRepository.findByApplicationIdIn(applicationIds).stream()
+            .map(this::convertDocumentToDto)
+            .collect(Collectors.groupingBy(ApplicationDocumentDto::getApplicationId));
+    }
+    
+    private void validateDataFields(List<String> dataFields) {
+        if (dataFields == null) {
+            return;
+        }
+        if (dataFields.size() > MAX_DATA_FIELDS) {
+            throw new IllegalArgumentException("At most " + MAX_DATA_FIELDS + " data fields can be selected");
+        }
+        for (String field : dataFields) {
+            if (field == null || !DATA_FIELD_PATTERN.matcher(field).matches()) {
+                throw new IllegalArgumentException("Invalid data field: " + field);
+            }
+        }
+    }
+    
+    /**
+     * An unparseable path would otherwise fail the list query itself and surface as a 500
+     */
+    private void validateDataPath(String dataPath) {
+        if (dataPath == null || dataPath.isBlank()) {
+            return;
+        }
+        if (!applicationRepository.isValidJsonPath(dataPath.trim())) {
+            throw new IllegalArgumentException("Invalid dataPath: " + dataPath);
+        }
+    }
+    
+    private AdminApplicationDto convertRowToAdminDto(
+            AdminApplicationRow row, 
+            List<ApplicationDocumentDto> documents,
+            AdminApplicationFilter filter) {
         
-        notificationService.createNotification(notification);
+        AdminApplicationDto dto = new AdminApplicationDto();
+        dto.setId(row.getId());
+        dto.setUserId(row.getUserId());
+        dto.setApplicantName(row.getApplicantName() != null ? row.getApplicantName() : "Unknown");
+        dto.setApplicantEmail(row.getApplicantEmail() != null ? row.getApplicantEmail() : "");
+        dto.setApplicantPhone(row.getApplicantPhone() != null ? row.getApplicantPhone() : "");
+        dto.setApplicantIdNumber(row.getApplicantIdNumber() != null ? row.getApplicantIdNumber() : "");
+        dto.setServiceType(row.getServiceType());
+        dto.setReferenceNumber(row.getReferenceNumber());
+        dto.setStatus(row.getStatus());
+        dto.setCurrentStep(row.getCurrentStep() != null ? row.getCurrentStep() : "");
+        // Left out entirely when the caller asked for no application data
+        boolean dataOmitted = filter.getDataFields() != null && filter.getDataFields().isEmpty();
+        dto.setApplicationData(dataOmitted ? null : row.getApplicationData() != null ? row.getApplicationData() : "{}");
+        dto.setSubmittedAt(row.getSubmittedAt() != null ? row.getSubmittedAt() : row.getCreatedAt());
+        dto.setExpectedCompletionDate(row.getExpectedCompletionDate());
+        dto.setCompletedAt(row.getCompletedAt());
+        dto.setCreatedAt(row.getCreatedAt());
+        dto.setUpdatedAt(row.getUpdatedAt());
+        dto.setVersion(row.getVersion());
+        dto.setDocuments(documents);
+        return dto;
     }
     
     private AdminApplicationDto convertToAdminDto(Application application) {
@@ -307,6 +665,7 @@ public class AdminService {
             dto.setCompletedAt(application.getCompletedAt());
             dto.setCreatedAt(application.getCreatedAt());
             dto.setUpdatedAt(application.getUpdatedAt());
+            dto.setVersion(application.getVersion());
             dto.setDocuments(documentDtos);
             
             return dto;
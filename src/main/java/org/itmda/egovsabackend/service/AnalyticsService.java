@@ -0,0 +1,129 @@
+package org.itmda.egovsabackend.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.itmda.egovsabackend.dto.AnalyticsBucketDto;
+import org.itmda.egovsabackend.entity.ApplicationDailyRollup;
+import org.itmda.egovsabackend.entity.RollupWatermark;
+import org.itmda.egovsabackend.repository.ApplicationDailyRollupRepository;
+import org.itmda.egovsabackend.repository.RollupWatermarkRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+    
+    private static final String ROLLUP_JOB = "application_daily_rollups";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    private final ApplicationDailyRollupRepository rollupRepository;
+    private final RollupWatermarkRepository watermarkRepository;
+    
+    // History rows are only rolled up once they are this old, so transactions
+    // that were still in flight when the watermark advanced are not skipped
+    @Value("${analytics.rollup.lag-seconds:60}")
+    private long lagSeconds;
+    
+    /**
+     * Roll new status history rows into application_daily_rollups.
+     * Only rows after the stored watermark are read; the upsert and the watermark
+     * advance commit together, so each history row is counted exactly once.
+     */
+    @Scheduled(fixedDelayString = "${analytics.rollup.interval-ms:60000}")
+    @Transactional
+    public void rollUpStatusHistory() {
+        RollupWatermark watermark = watermarkRepository.findForUpdate(ROLLUP_JOB)
+            .orElseGet(() -> new RollupWatermark(ROLLUP_JOB, EPOCH));
+        
+        LocalDateTime from = watermark.getProcessedUntil();
+        LocalDateTime to = LocalDateTime.now().minusSeconds(lagSeconds);
+        if (!to.isAfter(from)) {
+            return;
+        }
+        
+        rollupRepository.rollUp(from, to);
+        
+        watermark.setProcessedUntil(to);
+        watermarkRepository.save(watermark);
+    }
+    
+    /**
+     * Get submitted / completed / rejected counts per bucket and service type
+     * 
+     * @param granularity "day" or "week" (weeks start on Monday)
+     */
+    public List<AnalyticsBucketDto> getApplicationAnalytics(
+            LocalDate from, 
+            LocalDate to, 
+            String granularity, 
+            String serviceType) {
+        
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        
+        boolean weekly = "week".equalsIgnoreCase(granularity);
+        if (!weekly && !"day".equalsIgnoreCase(granularity)) {
+            throw new IllegalArgumentException("Unsupported granularity: " + granularity);
+        }
+        
+        List<ApplicationDailyRollup> rollups = serviceType != null && !serviceType.isBlank()
+            ? rollupRepository.findByServiceTypeAndBucketDateBetweenOrderByBucketDateAsc(serviceType, from, to)
+            : rollupRepository.findByBucketDateBetweenOrderByBucketDateAsc(from, to);
+        
+        // Fold daily rows into the requested bucket size (already ordered by date)
+        Map<String, BucketTotals> buckets = new LinkedHashMap<>();
+        for (ApplicationDailyRollup rollup : rollups) {
+            LocalDate bucketStart = weekly
+                ? rollup.getBucketDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : rollup.getBucketDate();
+            buckets.computeIfAbsent(bucketStart + "|" + rollup.getServiceType(),
+                    key -> new BucketTotals(bucketStart, rollup.getServiceType()))
+                .add(rollup);
+        }
+        
+        List<AnalyticsBucketDto> result = new ArrayList<>(buckets.size());
+        for (BucketTotals totals : buckets.values()) {
+            result.add(totals.toDto());
+        }
+        return result;
+    }
+    
+    private static class BucketTotals {
+        private final LocalDate bucketStart;
+        private final String serviceType;
+        private long submitted;
+        private long completed;
+        private long rejected;
+        private long completionSeconds;
+        
+        BucketTotals(LocalDate bucketStart, String serviceType) {
+            this.bucketStart = bucketStart;
+            this.serviceType = serviceType;
+        }
+        
+        void add(ApplicationDailyRollup rollup) {
+            submitted += rollup.getSubmittedCount();
+            completed += rollup.getCompletedCount();
+            rejected += rollup.getRejectedCount();
+            completionSeconds += rollup.getCompletionSecondsTotal();
+        }
+        
+        AnalyticsBucketDto toDto() {
+            Double averageDays = completed > 0 ? completionSeconds / (double) completed / 86400d : null;
+            return new AnalyticsBucketDto(bucketStart, serviceType, submitted, completed, rejected, averageDays);
+        }
+    }
+}
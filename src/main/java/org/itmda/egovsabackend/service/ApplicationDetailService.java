@@ -0,0 +1,103 @@
+package org.itmda.egovsabackend.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.itmda.egovsabackend.dto.ApplicationDetailDto;
+import org.itmda.egovsabackend.dto.ApplicationDocumentDto;
+import org.itmda.egovsabackend.dto.ApplicationDto;
+import org.itmda.egovsabackend.dto.ApplicationStatusHistoryDto;
+import org.itmda.egovsabackend.dto.AppointmentDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Everything the application detail screen needs in one call.
+ * The four sub-queries run concurrently on virtual threads; a per-request semaphore
+ * caps how many of them hold a connection at once, so one detail request can't
+ * take the whole (small) connection pool.
+ */
+@Service
+public class ApplicationDetailService {
+    
+    private final ApplicationService applicationService;
+    private final AppointmentService appointmentService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int maxParallelQueries;
+    private final long timeoutMs;
+    
+    public ApplicationDetailService(
+            ApplicationService applicationService,
+            AppointmentService appointmentService,
+            @Value("${application-detail.max-parallel-queries:2}") int maxParallelQueries,
+            @Value("${application-detail.timeout-ms:10000}") long timeoutMs) {
+        
+        this.applicationService = applicationService;
+        this.appointmentService = appointmentService;
+        this.maxParallelQueries = maxParallelQueries;
+        this.timeoutMs = timeoutMs;
+    }
+    
+    /**
+     * Application with documents, status timeline and linked appointments
+     */
+    public ApplicationDetailDto getApplicationDetail(UUID applicationId) {
+        Semaphore budget = new Semaphore(maxParallelQueries);
+        
+        CompletableFuture<ApplicationDto> application = fetch(budget, () -> applicationService.getApplicationSummary(applicationId));
+        CompletableFuture<List<ApplicationDocumentDto>> documents = fetch(budget, () -> applicationService.getApplicationDocuments(applicationId));
+        CompletableFuture<List<ApplicationStatusHistoryDto>> history = fetch(budget, () -> applicationService.getStatusHistory(applicationId));
+        CompletableFuture<List<AppointmentDto>> appointments = fetch(budget, () -> appointmentService.getApplicationAppointments(applicationId));
+        
+        try {
+            CompletableFuture.allOf(application, documents, history, appointments).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // e.g. "Application not found" from the application lookup
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Failed to load application detail", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out loading application detail", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted loading application detail", e);
+        }
+        
+        ApplicationDto dto = application.join();
+        dto.setDocuments(documents.join());
+        return new ApplicationDetailDto(dto, history.join(), appointments.join());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    private <T> CompletableFuture<T> fetch(Semaphore budget, Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                budget.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return query.get();
+            } finally {
+                budget.release();
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,231 @@
+package org.itmda.egovsabackend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Streams applications with applicant details as CSV or NDJSON.
+ * Rows are read in keyset chunks on (created_at, id): each chunk is one short query, so a
+ * connection is only held while a chunk is fetched, not while a slow client downloads it.
+ * Memory use is bounded by the chunk size, not by how many applications are exported.
+ * 
+ * A chunked export is not one snapshot: rows changed while the export runs may appear with
+ * either their old or new values.
+ */
+@Service
+public class ApplicationExportService {
+    
+    private static final String[] COLUMNS = {
+        "id", "reference_number", "service_type", "status", "current_step",
+        "user_id", "applicant_name", "applicant_email", "applicant_phone", "applicant_id_number",
+        "submitted_at", "expected_completion_date", "completed_at", "created_at", "updated_at",
+        "application_data"
+    };
+    
+    private static final int CREATED_AT_COLUMN = 14;
+    
+    private static final String EXPORT_SQL =
+        "SELECT a.id, a.reference_number, a.service_type, a.status, a.current_step, " +
+        "a.user_id, p.full_name AS applicant_name, p.email AS applicant_email, " +
+        "p.phone AS applicant_phone, p.id_number AS applicant_id_number, " +
+        "a.submitted_at, a.expected_completion_date, a.completed_at, a.created_at, a.updated_at, " +
+        "a.application_data " +
+        "FROM applications a LEFT JOIN profiles p ON p.id = a.user_id";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final long timeoutMs;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    
+    public ApplicationExportService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${export.chunk-size:500}") int chunkSize,
+            @Value("${export.timeout-ms:1800000}") long timeoutMs) {
+        
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.timeoutMs = timeoutMs;
+        
+        // Rows are separated by our own newlines; flushing the generator must not flush the socket
+        this.jsonFactory.setRootValueSeparator(null);
+        this.jsonFactory.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        this.jsonFactory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+    
+    /**
+     * Async timeout for one export download (applies to the export request only)
+     */
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+    
+    /**
+     * Write every matching application to the stream
+     * 
+     * @param format "csv" or "ndjson"
+     */
+    public void export(OutputStream outputStream, String format, String status, String serviceType) {
+        boolean csv = isCsv(format);
+        
+        List<Object> filterParams = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        conditions.add("a.deleted_at IS NULL");
+        if (status != null && !status.isBlank()) {
+            conditions.add("a.status = ?");
+            filterParams.add(status);
+        }
+        if (serviceType != null && !serviceType.isBlank()) {
+            conditions.add("a.service_type = ?");
+            filterParams.add(serviceType);
+        }
+        String where = " WHERE " + String.join(" AND ", conditions);
+        String firstChunkSql = EXPORT_SQL + where + " ORDER BY a.created_at, a.id LIMIT ?";
+        String nextChunkSql = EXPORT_SQL + where + " AND (a.created_at, a.id) > (?, ?) ORDER BY a.created_at, a.id LIMIT ?";
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try {
+            JsonGenerator json = csv ? null : jsonFactory.createGenerator(writer);
+            if (csv) {
+                writer.write(String.join(",", COLUMNS));
+                writer.write("\n");
+            }
+            
+            ExportRow last = null;
+            List<ExportRow> chunk;
+            do {
+                List<Object> params = new ArrayList<>(filterParams);
+                if (last != null) {
+                    params.add(last.createdAt());
+                    params.add(last.id());
+                }
+                params.add(chunkSize);
+                chunk = jdbcTemplate.query(last == null ? firstChunkSql : nextChunkSql,
+                    (rs, rowNum) -> mapRow(rs), params.toArray());
+                
+                // The connection is back in the pool before the chunk is written out
+                for (ExportRow row : chunk) {
+                    if (csv) {
+                        writeCsvRow(writer, row.values());
+                    } else {
+                        writeJsonRow(json, writer, row.values());
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    last = chunk.get(chunk.size() - 1);
+                }
+            } while (chunk.size() == chunkSize);
+            
+            if (json != null) {
+                json.flush();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write application export", e);
+        }
+    }
+    
+    public boolean isCsv(String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            return true;
+        }
+        if ("ndjson".equalsIgnoreCase(format)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + format);
+    }
+    
+    /**
+     * One exported row: the keyset position plus the column values as written
+     */
+    record ExportRow(LocalDateTime createdAt, UUID id, String[] values) {
+    }
+    
+    private ExportRow mapRow(ResultSet rs) throws SQLException {
+        String[] values = new String[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            values[i] = readValue(rs, i + 1);
+        }
+        return new ExportRow(rs.getObject(CREATED_AT_COLUMN, LocalDateTime.class), rs.getObject(1, UUID.class), values);
+    }
+    
+    private void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write('\n');
+    }
+    
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        // Applicant-controlled text must not be run as a formula when the file is opened in a spreadsheet
+        if (startsLikeFormula(value)) {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+    
+    private boolean startsLikeFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+    
+    private void writeJsonRow(JsonGenerator json, Writer writer, String[] values) throws IOException {
+        json.writeStartObject();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            json.writeStringField(COLUMNS[i], values[i]);
+        }
+        json.writeEndObject();
+        json.flush();
+        writer.write('\n');
+    }
+    
+    private String readValue(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp) {
+            LocalDateTime dateTime = rs.getObject(column, LocalDateTime.class);
+            return dateTime.toString();
+        }
+        return value != null ? value.toString() : null;
+    }
+}
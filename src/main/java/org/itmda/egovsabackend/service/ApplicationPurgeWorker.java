@@ -0,0 +1,147 @@
+package org.itmda.egovsabackend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.itmda.egovsabackend.repository.ApplicationPurgeRepository;
+import org.itmda.egovsabackend.repository.ApplicationPurgeRepository.PurgeResult;
+import org.itmda.egovsabackend.repository.ApplicationPurgeRepository.QueuedFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Background removal of soft-deleted applications.
+ * 
+ * Each run takes chunks of applications deleted more than grace-minutes ago and, in one
+ * transaction per chunk, queues their documents' file URLs in storage_file_deletions and removes
+ * the documents, status history, appointments, notifications and the application rows with one
+ * DELETE per table. The stored files are deleted through StorageService only after the chunk has
+ * committed, so no remote call runs while the rows are locked and a rollback never leaves rows
+ * whose files are already gone. A queued file stays queued until the storage call succeeds, so
+ * a storage outage is retried on the next run instead of orphaning the file.
+ */
+@Service
+public class ApplicationPurgeWorker {
+    
+    private final ApplicationPurgeRepository purgeRepository;
+    private final StorageService storageService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration grace;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    
+    private final AtomicLong backlog = new AtomicLong();
+    private final Timer chunkTimer;
+    private final Counter purgedApplications;
+    private final Counter purgedDocuments;
+    private final Counter purgedRelatedRows;
+    private final Counter storageFailures;
+    
+    public ApplicationPurgeWorker(
+            ApplicationPurgeRepository purgeRepository,
+            StorageService storageService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${application-purge.grace-minutes:10}") long graceMinutes,
+            @Value("${application-purge.chunk-size:200}") int chunkSize,
+            @Value("${application-purge.max-chunks-per-run:10}") int maxChunksPerRun) {
+        
+        this.purgeRepository = purgeRepository;
+        this.storageService = storageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.grace = Duration.ofMinutes(graceMinutes);
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        
+        meterRegistry.gauge("applications.purge.backlog", backlog);
+        this.chunkTimer = meterRegistry.timer("applications.purge.chunk.latency");
+        this.purgedApplications = meterRegistry.counter("applications.purge.applications");
+        this.purgedDocuments = meterRegistry.counter("applications.purge.documents");
+        this.purgedRelatedRows = meterRegistry.counter("applications.purge.related.rows");
+        this.storageFailures = meterRegistry.counter("applications.purge.storage.failures");
+    }
+    
+    /**
+     * Purge up to max-chunks-per-run chunks, stopping early once the backlog is drained
+     */
+    @Scheduled(fixedDelayString = "${application-purge.interval-ms:60000}")
+    public void purge() {
+        try {
+            for (int i = 0; i < maxChunksPerRun; i++) {
+                if (purgeChunk() < chunkSize) {
+                    break;
+                }
+            }
+            backlog.set(purgeRepository.countDeleted());
+        } catch (Exception e) {
+            System.err.println("Error purging deleted applications: " + e.getMessage());
+        }
+        
+        try {
+            deleteQueuedFiles();
+        } catch (Exception e) {
+            storageFailures.increment();
+            System.err.println("Error deleting files of purged applications: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Purge one chunk in one transaction
+     * 
+     * @return Number of applications purged
+     */
+    int purgeChunk() {
+        LocalDateTime deletedBefore = LocalDateTime.now().minus(grace);
+        
+        PurgeResult result = chunkTimer.record(() -> transactionTemplate.execute(tx -> {
+            List<UUID> ids = purgeRepository.lockDeletedApplications(deletedBefore, chunkSize);
+            if (ids.isEmpty()) {
+                return null;
+            }
+            
+            purgeRepository.queueDocumentFiles(ids);
+            return purgeRepository.deleteApplications(ids);
+        }));
+        
+        if (result == null) {
+            return 0;
+        }
+        purgedApplications.increment(result.applications());
+        purgedDocuments.increment(result.documents());
+        purgedRelatedRows.increment(result.statusHistory() + result.appointments() + result.notifications());
+        return result.applications();
+    }
+    
+    /**
+     * Delete queued files from storage, chunk-size at a time, outside any transaction
+     * 
+     * @return Number of files deleted
+     */
+    int deleteQueuedFiles() {
+        int deleted = 0;
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            List<QueuedFile> files = purgeRepository.findQueuedFiles(chunkSize);
+            if (files.isEmpty()) {
+                break;
+            }
+            
+            storageService.deleteFiles(files.stream().map(QueuedFile::fileUrl).toList());
+            purgeRepository.deleteQueuedFiles(files.stream().map(QueuedFile::id).toList());
+            deleted += files.size();
+            if (files.size() < chunkSize) {
+                break;
+            }
+        }
+        return deleted;
+    }
+}
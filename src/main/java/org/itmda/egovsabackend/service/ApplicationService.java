@@ -1,47 +1,104 @@
 package org.itmda.egovsabackend.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.itmda.egovsabackend.dto.ApplicationDocumentDto;
 import org.itmda.egovsabackend.dto.ApplicationDto;
+import org.itmda.egovsabackend.dto.ApplicationStatusHistoryDto;
+import org.itmda.egovsabackend.dto.ApplicationSummaryDto;
 import org.itmda.egovsabackend.dto.CreateApplicationRequest;
+import org.itmda.egovsabackend.dto.CursorPage;
+import org.itmda.egovsabackend.dto.KeysetCursor;
 import org.itmda.egovsabackend.entity.Application;
 import org.itmda.egovsabackend.entity.ApplicationDocument;
+import org.itmda.egovsabackend.entity.ApplicationStatusHistory;
+import org.itmda.egovsabackend.exception.ApplicationConflictException;
+import org.itmda.egovsabackend.repository.ApplicationDocumentBatchRepository;
 import org.itmda.egovsabackend.repository.ApplicationDocumentRepository;
 import org.itmda.egovsabackend.repository.ApplicationRepository;
+import org.itmda.egovsabackend.repository.ApplicationStatusHistoryRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class ApplicationService {
     
-    private static final Random RANDOM = new Random();
     private final ApplicationRepository applicationRepository;
     
     private final ApplicationDocumentRepository documentRepository;
+    
+    private final ApplicationStatusHistoryRepository statusHistoryRepository;
+    
+    private final ApplicationStatusCounterService statusCounterService;
+    
+    private final ApplicationTransitionService transitionService;
+    
+    private final ApplicationStatusStreamService statusStreamService;
+    
+    private final ApplicationTrackingService trackingService;
+    
+    private final ReferenceNumberAllocator referenceNumberAllocator;
+    
+    private final ServiceRulesRegistry serviceRulesRegistry;
+    
+    private final BusinessDayCalendar businessDayCalendar;
+    
+    private final ObjectMapper objectMapper;
+    
+    private final ApplicationDocumentBatchRepository documentBatchRepository;
+    
+    private static final int MAX_USER_PAGE_SIZE = 100;
+    
+    private static final int MAX_DOCUMENT_BATCH_SIZE = 50;
 
     //Create a new application
 
     @Transactional
     public ApplicationDto createApplication(UUID userId, CreateApplicationRequest request) {
+        validateApplicationData(request.getApplicationData());
+        
         Application application = new Application();
         application.setUserId(userId);
+        ServiceRulesRegistry.ServiceRule rule = serviceRulesRegistry.getRule(request.getServiceType());
+        
         application.setServiceType(request.getServiceType());
-        application.setReferenceNumber(generateReferenceNumber(request.getServiceType()));
+        application.setReferenceNumber(referenceNumberAllocator.allocate(rule.referencePrefix()));
         application.setStatus("In Progress");
-        application.setCurrentStep(getInitialStep(request.getServiceType()));
-        application.setApplicationData(request.getApplicationData());
+        application.setCurrentStep(rule.initialStep());
+        application.setApplicationData(hasData(request.getApplicationData()) ? request.getApplicationData() : null);
         application.setSubmittedAt(LocalDateTime.now());
-        application.setExpectedCompletionDate(calculateExpectedCompletion(request.getServiceType()));
+        application.setExpectedCompletionDate(calculateExpectedCompletion(rule));
+        application.setSingleOpen(rule.singleOpenApplication());
         
-        Application saved = applicationRepository.save(application);
+        // The one-open-application rule is enforced by a partial unique index, so a duplicate
+        // costs one index probe at insert time rather than a lookup of the user's applications
+        Application saved;
+        try {
+            saved = applicationRepository.saveAndFlush(application);
+        } catch (DataIntegrityViolationException e) {
+            if (ApplicationTransitionService.violatesOpenApplicationGuard(e)) {
+                throw new ApplicationConflictException(
+                        "User already has an open " + request.getServiceType() + " application");
+            }
+            throw e;
+        }
+        trackingService.recordIssued(saved.getReferenceNumber());
+        statusCounterService.recordCreated(saved.getStatus());
+        logStatusChange(saved.getId(), null, saved.getStatus(), "Application submitted");
+        statusStreamService.publishAfterCommit(userId, saved.getId(), saved.getReferenceNumber(),
+                null, saved.getStatus(), saved.getCurrentStep());
         return convertToDto(saved);
     }
     
@@ -72,6 +129,36 @@ public class ApplicationService {
                 .collect(Collectors.toList());
     }
 
+    //Get a page of a user's applications, newest first, without form data
+
+    public CursorPage<ApplicationSummaryDto> getUserApplicationsAfter(
+            UUID userId, List<String> statuses, int size, String cursor) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_USER_PAGE_SIZE);
+        
+        KeysetCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = KeysetCursor.decode(cursor);
+            if (!"createdAt".equals(after.getSortField())) {
+                throw new IllegalArgumentException("Cursor was issued for sort field " + after.getSortField());
+            }
+        }
+        
+        // Fetch one extra row to learn whether another page exists
+        List<ApplicationSummaryDto> rows = applicationRepository.findUserSummariesAfter(userId, statuses, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+        
+        String nextCursor = null;
+        if (hasNext) {
+            ApplicationSummaryDto last = rows.get(rows.size() - 1);
+            nextCursor = new KeysetCursor("createdAt", last.getCreatedAt(), last.getId()).encode();
+        }
+        
+        return new CursorPage<>(rows, nextCursor, hasNext, null);
+    }
+
      //Get single application by ID
 
     public ApplicationDto getApplicationById(UUID id) {
@@ -80,6 +167,14 @@ public class ApplicationService {
         return convertToDto(application);
     }
     
+    //Get single application by ID, without its documents
+
+    public ApplicationDto getApplicationSummary(UUID id) {
+        Application application = applicationRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Application not found"));
+        return convertToDtoWithoutDocuments(application);
+    }
+    
     //Get application by reference number
 
     public ApplicationDto getApplicationByReference(String referenceNumber) {
@@ -91,20 +186,17 @@ public class ApplicationService {
     //Update application status
 
     @Transactional
-    public ApplicationDto updateApplicationStatus(UUID id, String status, String currentStep) {
-        Application application = applicationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Application not found"));
-        
-        application.setStatus(status);
-        if (currentStep != null) {
-            application.setCurrentStep(currentStep);
-        }
+    public ApplicationDto updateApplicationStatus(
+            UUID id, String status, String currentStep, String expectedStatus, Long expectedVersion) {
+        LocalDateTime completedAt = "Completed".equalsIgnoreCase(status) ? LocalDateTime.now() : null;
         
-        if ("Completed".equalsIgnoreCase(status)) {
-            application.setCompletedAt(LocalDateTime.now());
+        ApplicationTransitionService.Transition transition = transitionService.transition(
+                id, null, expectedStatus, expectedVersion, status, currentStep, completedAt);
+        Application updated = transition.application();
+        String oldStatus = transition.oldStatus();
+        if (!Objects.equals(oldStatus, status)) {
+            logStatusChange(id, oldStatus, status, null);
         }
-        
-        Application updated = applicationRepository.save(application);
         return convertToDto(updated);
     }
 
@@ -124,6 +216,58 @@ public class ApplicationService {
     }
     
 
+    /**
+     * Register several documents in one transaction and one JDBC batch.
+     * Every document needs a type, file name and URL, and its type must be one of the
+     * service's required documents (when the service lists any). Nothing is inserted
+     * unless the whole batch is valid.
+     */
+    @Transactional
+    public List<ApplicationDocumentDto> addDocuments(UUID applicationId, List<ApplicationDocumentDto> documentDtos) {
+        if (documentDtos == null || documentDtos.isEmpty()) {
+            throw new IllegalArgumentException("At least one document is required");
+        }
+        if (documentDtos.size() > MAX_DOCUMENT_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_DOCUMENT_BATCH_SIZE + " documents per batch");
+        }
+        
+        String serviceType = applicationRepository.findServiceTypeById(applicationId)
+                .orElseThrow(() -> new RuntimeException("Application not found"));
+        ServiceRulesRegistry.ServiceRule rule = serviceRulesRegistry.getRule(serviceType);
+        
+        List<ApplicationDocument> documents = new ArrayList<>(documentDtos.size());
+        for (ApplicationDocumentDto dto : documentDtos) {
+            if (isBlank(dto.getDocumentType()) || isBlank(dto.getFileName()) || isBlank(dto.getFileUrl())) {
+                throw new IllegalArgumentException("documentType, fileName and fileUrl are required");
+            }
+            if (!rule.acceptsDocumentType(dto.getDocumentType())) {
+                throw new IllegalArgumentException(
+                        "Document type " + dto.getDocumentType() + " is not required for " + serviceType);
+            }
+            
+            ApplicationDocument document = new ApplicationDocument();
+            document.setApplicationId(applicationId);
+            document.setDocumentType(dto.getDocumentType());
+            document.setFileName(dto.getFileName());
+            document.setFileUrl(dto.getFileUrl());
+            document.setFileSize(dto.getFileSize());
+            documents.add(document);
+        }
+        
+        documentBatchRepository.insertDocuments(documents, LocalDateTime.now());
+        return documents.stream()
+                .map(this::convertDocumentToDto)
+                .collect(Collectors.toList());
+    }
+
+    //Get status history for an application, newest first
+
+    public List<ApplicationStatusHistoryDto> getStatusHistory(UUID applicationId) {
+        return statusHistoryRepository.findByApplicationIdOrderByChangedAtDesc(applicationId).stream()
+                .map(this::convertHistoryToDto)
+                .collect(Collectors.toList());
+    }
+
     //Get documents for an application
 
     public List<ApplicationDocumentDto> getApplicationDocuments(UUID applicationId) {
@@ -137,58 +281,47 @@ public class ApplicationService {
 
     @Transactional
     public void deleteApplication(UUID id) {
-        documentRepository.deleteByApplicationId(id);
-        applicationRepository.deleteById(id);
+        // Soft delete; ApplicationPurgeWorker removes the row, its related data and stored files later
+        applicationRepository.softDelete(id, LocalDateTime.now())
+                .ifPresent(application -> statusCounterService.recordDeleted(application.getStatus()));
     }
     
     // Helper methods
     
-    private String generateReferenceNumber(String serviceType) {
-        String prefix = switch (serviceType.toLowerCase()) {
-            case "smart id", "smart id renewal", "smart id application" -> "ID";
-            case "passport", "passport application" -> "PA";
-            case "learner's licence", "learners licence application" -> "LL";
-            case "driving licence", "driving license renewal" -> "DL";
-            case "birth certificate" -> "BC";
-            case "tax return", "tax return filing" -> "TAX";
-            case "business license", "business license application" -> "BUS";
-            case "vehicle registration" -> "VR";
-            default -> "APP";
-        };
-        
-        int number = RANDOM.nextInt(9000) + 1000; // 1000-9999
-        return prefix + String.format("%03d", number);
-    }
-    
-    private String getInitialStep(String serviceType) {
-        return switch (serviceType.toLowerCase()) {
-            case "smart id", "smart id renewal", "smart id application" -> "Document Verification";
-            case "passport", "passport application" -> "Application Review";
-            case "learner's licence", "learners licence application" -> "Appointment Scheduled";
-            case "tax return", "tax return filing" -> "Document Verification";
-            default -> "Submitted";
-        };
-    }
-    
-    private LocalDateTime calculateExpectedCompletion(String serviceType) {
-        int daysToAdd = switch (serviceType.toLowerCase()) {
-            case "smart id", "smart id renewal", "smart id application" -> 14;
-            case "passport", "passport application" -> 21;
-            case "learner's licence", "learners licence application" -> 7;
-            case "driving licence", "driving license renewal" -> 10;
-            case "birth certificate" -> 14;
-            case "tax return", "tax return filing" -> 21;
-            default -> 14;
-        };
-        
-        LocalDateTime expected = LocalDateTime.now().plusDays(daysToAdd);
-        
-        // Ensure it's a weekday
-        while (expected.getDayOfWeek().getValue() > 5) { // 6=Sat, 7=Sun
-            expected = expected.plusDays(1);
+    private void logStatusChange(UUID applicationId, String oldStatus, String newStatus, String notes) {
+        ApplicationStatusHistory history = new ApplicationStatusHistory();
+        history.setApplicationId(applicationId);
+        history.setOldStatus(oldStatus);
+        history.setNewStatus(newStatus);
+        history.setNotes(notes);
+        statusHistoryRepository.save(history);
+    }
+    
+    // application_data is jsonb, so malformed JSON would otherwise fail at insert time
+    private void validateApplicationData(String applicationData) {
+        if (!hasData(applicationData)) {
+            return;
+        }
+        try {
+            objectMapper.readTree(applicationData);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("applicationData must be valid JSON", e);
         }
-        
-        return expected;
+    }
+    
+    private boolean hasData(String applicationData) {
+        return applicationData != null && !applicationData.isBlank();
+    }
+    
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+    
+    private LocalDateTime calculateExpectedCompletion(ServiceRulesRegistry.ServiceRule rule) {
+        // Processing time counts working days: weekends and public holidays are skipped
+        LocalDateTime now = LocalDateTime.now();
+        return businessDayCalendar.addWorkingDays(now.toLocalDate(), rule.processingTimeDays())
+                .atTime(now.toLocalTime());
     }
     
     private ApplicationDto convertToDto(Application application) {
@@ -207,6 +340,7 @@ public class ApplicationService {
         dto.setCompletedAt(application.getCompletedAt());
         dto.setCreatedAt(application.getCreatedAt());
         dto.setUpdatedAt(application.getUpdatedAt());
+        dto.setVersion(application.getVersion());
         dto.setDocuments(documents);
         
         return dto;
@@ -226,11 +360,22 @@ public class ApplicationService {
         dto.setCompletedAt(application.getCompletedAt());
         dto.setCreatedAt(application.getCreatedAt());
         dto.setUpdatedAt(application.getUpdatedAt());
+        dto.setVersion(application.getVersion());
         dto.setDocuments(List.of()); // Empty list for list views
         
         return dto;
     }
     
+    private ApplicationStatusHistoryDto convertHistoryToDto(ApplicationStatusHistory history) {
+        ApplicationStatusHistoryDto dto = new ApplicationStatusHistoryDto();
+        dto.setId(history.getId());
+        dto.setOldStatus(history.getOldStatus());
+        dto.setNewStatus(history.getNewStatus());
+        dto.setChangedAt(history.getChangedAt());
+        dto.setNotes(history.getNotes());
+        return dto;
+    }
+    
     private ApplicationDocumentDto convertDocumentToDto(ApplicationDocument document) {
         ApplicationDocumentDto dto = new ApplicationDocumentDto();
         dto.setId(document.getId());
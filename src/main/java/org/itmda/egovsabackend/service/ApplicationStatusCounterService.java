@@ -0,0 +1,100 @@
+package org.itmda.egovsabackend.service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.itmda.egovsabackend.entity.ApplicationStatusCount;
+import org.itmda.egovsabackend.repository.ApplicationStatusCountRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-status application counters kept in application_status_counts.
+ * Every method that changes an application's status calls into this service inside
+ * its own transaction, so the counters commit or roll back together with the change.
+ * 
+ * The counters are rebuilt from applications once all beans exist, before the web server
+ * starts taking requests, and then periodically, so counts missed before the first rebuild
+ * (or by changes made outside this service) do not persist.
+ */
+@Service
+@RequiredArgsConstructor
+public class ApplicationStatusCounterService implements SmartInitializingSingleton {
+    
+    private final ApplicationStatusCountRepository statusCountRepository;
+    
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        rebuildFromApplications();
+    }
+    
+    /**
+     * Recompute every counter from a GROUP BY over applications
+     */
+    @Scheduled(fixedDelayString = "${status-counts.reconcile-interval-ms:3600000}",
+            initialDelayString = "${status-counts.reconcile-interval-ms:3600000}")
+    @Transactional
+    public void reconcile() {
+        rebuildFromApplications();
+    }
+    
+    /**
+     * The table lock waits for transactions that already moved a counter to commit and holds
+     * off new ones, so the GROUP BY sees exactly the application changes the counters saw
+     */
+    private void rebuildFromApplications() {
+        statusCountRepository.lockTable();
+        statusCountRepository.upsertFromApplications();
+        statusCountRepository.deleteStatusesWithoutApplications();
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(String status) {
+        statusCountRepository.increment(status, 1);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(String oldStatus, String newStatus) {
+        if (Objects.equals(oldStatus, newStatus)) {
+            return;
+        }
+        if (oldStatus != null) {
+            statusCountRepository.increment(oldStatus, -1);
+        }
+        if (newStatus != null) {
+            statusCountRepository.increment(newStatus, 1);
+        }
+    }
+    
+    /**
+     * Apply pre-aggregated per-status deltas from a bulk operation (one statement per status)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeltas(Map<String, Long> deltas) {
+        deltas.forEach((status, delta) -> {
+            if (status != null && delta != 0) {
+                statusCountRepository.increment(status, delta);
+            }
+        });
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(String status) {
+        statusCountRepository.increment(status, -1);
+    }
+    
+    /**
+     * Current count per status (one small table read)
+     */
+    public Map<String, Long> getCounts() {
+        return statusCountRepository.findAll().stream()
+            .collect(Collectors.toMap(ApplicationStatusCount::getStatus, ApplicationStatusCount::getCount));
+    }
+}
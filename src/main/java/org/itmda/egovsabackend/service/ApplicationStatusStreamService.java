@@ -0,0 +1,323 @@
+package org.itmda.egovsabackend.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.itmda.egovsabackend.dto.ApplicationStatusEventDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Per-user Server-Sent Events fan-out for application status changes.
+ * 
+ * Status changes are published after their transaction commits and pushed to every open
+ * stream of the application's owner. An idle stream is only an SseEmitter and a small queue
+ * (no thread is held); sends run on virtual threads, one drain at a time per stream so a
+ * stream sees its events in order and a slow client cannot hold up anyone else.
+ * 
+ * The last replay-size events per user are kept so a reconnecting client can resume from its
+ * Last-Event-ID. When the events it missed are no longer held (or were sent by an earlier run
+ * of this instance) it gets a "resync" event and should reload its list.
+ * Events are local to this instance.
+ */
+@Service
+public class ApplicationStatusStreamService {
+    
+    static final String STATUS_EVENT = "status";
+    static final String RESYNC_EVENT = "resync";
+    
+    private final long emitterTimeoutMs;
+    private final int replaySize;
+    private final int maxBufferedUsers;
+    private final int maxStreamsPerUser;
+    private final int maxPendingPerStream;
+    
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    // Start above any id handed out by a previous run, so old ids always sort first
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Map<UUID, List<Stream>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    
+    // Guarded by itself; also orders publishing against subscribing
+    private final Map<UUID, ReplayBuffer> buffers;
+    // Highest event id that can no longer be replayed for users without a buffer
+    private long evictedThrough = sequence.get();
+    
+    public ApplicationStatusStreamService(
+            MeterRegistry meterRegistry,
+            @Value("${status-stream.timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${status-stream.replay-size:50}") int replaySize,
+            @Value("${status-stream.max-buffered-users:10000}") int maxBufferedUsers,
+            @Value("${status-stream.max-streams-per-user:5}") int maxStreamsPerUser,
+            @Value("${status-stream.max-pending-per-stream:100}") int maxPendingPerStream) {
+        
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.replaySize = replaySize;
+        this.maxBufferedUsers = maxBufferedUsers;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.maxPendingPerStream = maxPendingPerStream;
+        this.buffers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, ReplayBuffer> eldest) {
+                if (size() <= ApplicationStatusStreamService.this.maxBufferedUsers) {
+                    return false;
+                }
+                evictedThrough = Math.max(evictedThrough, eldest.getValue().lastEventId());
+                return true;
+            }
+        };
+        
+        meterRegistry.gauge("applications.status-stream.connections", openStreams);
+    }
+    
+    /**
+     * Open a stream of the user's status changes
+     * 
+     * @param lastEventId Last-Event-ID sent by a reconnecting client (optional)
+     */
+    public SseEmitter subscribe(UUID userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Stream stream = new Stream(userId, emitter);
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(e -> remove(stream));
+        
+        Long resumeAfter = parseEventId(lastEventId);
+        synchronized (buffers) {
+            // Most likely abandoned tabs; the newest connection wins. Closing a stream drops the
+            // user's list once it is empty, so the new stream is added after the evictions, and
+            // atomically with respect to remove()
+            List<Stream> current = List.copyOf(streams.getOrDefault(userId, List.of()));
+            for (int i = 0; i + maxStreamsPerUser <= current.size(); i++) {
+                current.get(i).close();
+            }
+            streams.compute(userId, (id, userStreams) -> {
+                List<Stream> updated = userStreams != null ? userStreams : new CopyOnWriteArrayList<>();
+                updated.add(stream);
+                return updated;
+            });
+            openStreams.incrementAndGet();
+            
+            if (resumeAfter != null) {
+                List<ApplicationStatusEventDto> missed = eventsAfter(userId, resumeAfter);
+                if (missed == null) {
+                    stream.enqueue(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                } else {
+                    missed.forEach(event -> stream.enqueue(toSse(event)));
+                }
+            }
+        }
+        return emitter;
+    }
+    
+    /**
+     * Push a status change to the owner's streams once the current transaction commits
+     * (immediately when there is none). Nothing is sent for a rolled-back change.
+     * 
+     * @param oldStatus Previous status, or null for a new application
+     */
+    public void publishAfterCommit(UUID userId, UUID applicationId, String referenceNumber,
+            String oldStatus, String status, String currentStep) {
+        ApplicationStatusEventDto event = new ApplicationStatusEventDto(
+            0, applicationId, referenceNumber, oldStatus, status, currentStep, LocalDateTime.now());
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(userId, event);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(userId, event);
+            }
+        });
+    }
+    
+    /**
+     * Keep idle connections open through proxies and detect dead clients
+     */
+    @Scheduled(fixedDelayString = "${status-stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        streams.values().forEach(userStreams -> userStreams.forEach(
+            stream -> stream.enqueue(SseEmitter.event().comment("heartbeat"))));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        streams.values().forEach(userStreams -> userStreams.forEach(Stream::close));
+        sender.shutdown();
+    }
+    
+    int openStreamCount() {
+        return openStreams.get();
+    }
+    
+    int streamCount(UUID userId) {
+        return streams.getOrDefault(userId, List.of()).size();
+    }
+    
+    void publish(UUID userId, ApplicationStatusEventDto event) {
+        synchronized (buffers) {
+            event.setEventId(sequence.incrementAndGet());
+            buffers.computeIfAbsent(userId, id -> new ReplayBuffer(evictedThrough)).add(event, replaySize);
+            
+            List<Stream> userStreams = streams.get(userId);
+            if (userStreams != null) {
+                userStreams.forEach(stream -> stream.enqueue(toSse(event)));
+            }
+        }
+    }
+    
+    /**
+     * Buffered events after lastEventId, oldest first; null if some of them are no longer held
+     */
+    List<ApplicationStatusEventDto> eventsAfter(UUID userId, long lastEventId) {
+        synchronized (buffers) {
+            ReplayBuffer buffer = buffers.get(userId);
+            long droppedThrough = buffer != null ? buffer.droppedThrough : evictedThrough;
+            if (lastEventId < droppedThrough) {
+                return null;
+            }
+            if (buffer == null) {
+                return List.of();
+            }
+            return buffer.events.stream()
+                .filter(event -> event.getEventId() > lastEventId)
+                .toList();
+        }
+    }
+    
+    private void remove(Stream stream) {
+        if (!stream.closed.compareAndSet(false, true)) {
+            return;
+        }
+        openStreams.decrementAndGet();
+        streams.computeIfPresent(stream.userId, (id, userStreams) -> {
+            userStreams.remove(stream);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+    
+    private SseEmitter.SseEventBuilder toSse(ApplicationStatusEventDto event) {
+        return SseEmitter.event()
+            .id(Long.toString(event.getEventId()))
+            .name(STATUS_EVENT)
+            .data(event);
+    }
+    
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return 0L; // not one of ours: resync
+        }
+    }
+    
+    private static final class ReplayBuffer {
+        private final Deque<ApplicationStatusEventDto> events = new ArrayDeque<>();
+        private long droppedThrough;
+        
+        ReplayBuffer(long droppedThrough) {
+            this.droppedThrough = droppedThrough;
+        }
+        
+        void add(ApplicationStatusEventDto event, int capacity) {
+            events.addLast(event);
+            while (events.size() > capacity) {
+                droppedThrough = events.removeFirst().getEventId();
+            }
+        }
+        
+        long lastEventId() {
+            return events.isEmpty() ? droppedThrough : events.getLast().getEventId();
+        }
+    }
+    
+    /**
+     * One open connection. Events are queued and sent by at most one virtual thread at a time.
+     */
+    private final class Stream {
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        
+        Stream(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+        
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingPerStream) {
+                // The client is not reading; drop it and let it reconnect with Last-Event-ID
+                close();
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+        
+        void close() {
+            remove(this);
+            emitter.complete();
+        }
+        
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            SseEmitter.SseEventBuilder event;
+            while ((event = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                if (closed.get()) {
+                    continue;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away (or the emitter already timed out)
+                    remove(this);
+                }
+            }
+            draining.set(false);
+            // An event may have been queued after the last poll but before draining was cleared
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
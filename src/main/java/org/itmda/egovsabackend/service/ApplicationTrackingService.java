@@ -0,0 +1,224 @@
+package org.itmda.egovsabackend.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.itmda.egovsabackend.dto.ApplicationTrackingDto;
+import org.itmda.egovsabackend.repository.ApplicationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Public tracking lookups by reference number.
+ * 
+ * A Bloom filter of every issued reference number answers "definitely not issued" without a
+ * query, so guessed references never reach the database. It is built at startup, updated by
+ * createApplication, and topped up every sync-interval-ms with references created on other
+ * instances. Until the first build completes every lookup goes to the database. Found
+ * applications are served from a small LRU for ttl-seconds (status changes show up after that).
+ */
+@Service
+public class ApplicationTrackingService {
+    
+    static final int MAX_REFERENCE_LENGTH = 32;
+    // References committed late (long transactions) still have an earlier created_at
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(2);
+    
+    private final ApplicationRepository applicationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long expectedReferences;
+    private final double falsePositiveRate;
+    private final Duration cacheTtl;
+    private final Map<String, CachedTracking> cache;
+    
+    private volatile BloomFilter issued;
+    // Second filter being filled by a rebuild; new references go into both
+    private volatile BloomFilter rebuilding;
+    private volatile LocalDateTime syncedUpTo;
+    
+    private record CachedTracking(ApplicationTrackingDto tracking, long expiresAtNanos) {
+    }
+    
+    public ApplicationTrackingService(
+            ApplicationRepository applicationRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${tracking.bloom.expected-references:1000000}") long expectedReferences,
+            @Value("${tracking.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${tracking.cache.max-entries:1000}") int cacheMaxEntries,
+            @Value("${tracking.cache.ttl-seconds:30}") long cacheTtlSeconds) {
+        
+        this.applicationRepository = applicationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedReferences = expectedReferences;
+        this.falsePositiveRate = falsePositiveRate;
+        this.cacheTtl = Duration.ofSeconds(cacheTtlSeconds);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTracking> eldest) {
+                return size() > cacheMaxEntries;
+            }
+        };
+    }
+    
+    /**
+     * Status, current step and expected completion for a reference number
+     */
+    public Optional<ApplicationTrackingDto> track(String referenceNumber) {
+        if (referenceNumber == null || referenceNumber.isBlank() || referenceNumber.length() > MAX_REFERENCE_LENGTH) {
+            return Optional.empty();
+        }
+        String reference = referenceNumber.trim();
+        
+        BloomFilter filter = issued;
+        if (filter != null && !filter.mightContain(reference)) {
+            return Optional.empty();
+        }
+        
+        long now = System.nanoTime();
+        synchronized (cache) {
+            CachedTracking cached = cache.get(reference);
+            if (cached != null && now - cached.expiresAtNanos() < 0) {
+                return Optional.of(cached.tracking());
+            }
+        }
+        
+        Optional<ApplicationTrackingDto> tracking = applicationRepository.findTrackingByReferenceNumber(reference);
+        tracking.ifPresent(found -> {
+            synchronized (cache) {
+                cache.put(reference, new CachedTracking(found, now + cacheTtl.toNanos()));
+            }
+        });
+        return tracking;
+    }
+    
+    /**
+     * Add a newly issued reference number (called on create)
+     */
+    public void recordIssued(String referenceNumber) {
+        BloomFilter filter = issued;
+        if (filter != null) {
+            filter.put(referenceNumber);
+        }
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(referenceNumber);
+        }
+    }
+    
+    /**
+     * Build the filter from every reference number in the table, sized for at least twice the
+     * current count so the false-positive rate holds as the table grows
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tracking.bloom.rebuild-interval-ms:21600000}",
+            initialDelayString = "${tracking.bloom.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        try {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM applications", Long.class);
+            BloomFilter next = new BloomFilter(Math.max(expectedReferences, 2 * (count != null ? count : 0)),
+                falsePositiveRate);
+            rebuilding = next;
+            
+            LocalDateTime startedAt = LocalDateTime.now();
+            jdbcTemplate.query("SELECT reference_number FROM applications", rs -> {
+                next.put(rs.getString(1));
+            });
+            
+            syncedUpTo = startedAt;
+            issued = next;
+        } catch (Exception e) {
+            System.err.println("Error building reference number filter: " + e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+    
+    /**
+     * Add reference numbers created on other instances since the last sync
+     */
+    @Scheduled(fixedDelayString = "${tracking.bloom.sync-interval-ms:5000}")
+    public void syncRecent() {
+        BloomFilter filter = issued;
+        LocalDateTime since = syncedUpTo;
+        if (filter == null || since == null) {
+            return;
+        }
+        
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            jdbcTemplate.query("SELECT reference_number FROM applications WHERE created_at > ?", rs -> {
+                filter.put(rs.getString(1));
+            }, Timestamp.valueOf(since.minus(SYNC_OVERLAP)));
+            syncedUpTo = startedAt;
+        } catch (Exception e) {
+            System.err.println("Error syncing reference number filter: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Lock-free Bloom filter over strings (double hashing of two 64-bit hashes)
+     */
+    static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+        
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = wordCount * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+        
+        void put(String value) {
+            long h1 = hash(value, 0xcbf29ce484222325L);
+            long h2 = hash(value, 0x84222325cbf29ce4L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                if ((words.get(word) & mask) == 0) {
+                    words.getAndAccumulate(word, mask, (current, m) -> current | m);
+                }
+            }
+        }
+        
+        boolean mightContain(String value) {
+            long h1 = hash(value, 0xcbf29ce484222325L);
+            long h2 = hash(value, 0x84222325cbf29ce4L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        // FNV-1a over the characters, finished with the MurmurHash3 64-bit mixer
+        private static long hash(String value, long seed) {
+            long h = seed;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
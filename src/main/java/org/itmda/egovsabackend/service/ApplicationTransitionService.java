@@ -0,0 +1,122 @@
+package org.itmda.egovsabackend.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.entity.Application;
+import org.itmda.egovsabackend.exception.ApplicationConflictException;
+import org.itmda.egovsabackend.repository.ApplicationRepository;
+import org.itmda.egovsabackend.repository.ApplicationStatusUpdateRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Status transitions as a single conditional UPDATE ... RETURNING (one round trip; the
+ * existence check that tells 404 from 409 only runs when the update misses).
+ * Two reviewers acting on the same application can no longer overwrite each other:
+ * the second transition finds the status (or version) changed and gets a 409. An
+ * application claimed from the review queue can only be moved by the reviewer holding
+ * the claim until the lease runs out; anyone else gets a 409 as well.
+ */
+@Service
+@RequiredArgsConstructor
+public class ApplicationTransitionService {
+    
+    /** Partial unique index allowing one open application per user and service type (schema.sql) */
+    public static final String OPEN_APPLICATION_INDEX = "uq_applications_user_service_open";
+    
+    private final ApplicationRepository applicationRepository;
+    private final ApplicationStatusCounterService statusCounterService;
+    private final ApplicationStatusStreamService statusStreamService;
+    
+    /**
+     * Result of a successful transition: the status it moved from and the updated row
+     */
+    public record Transition(String oldStatus, Application application) {
+    }
+    
+    /**
+     * Move an application to a new status
+     * 
+     * @param reviewerId Reviewer making the change; null for changes not made by a reviewer,
+     *                   which are only allowed while nobody holds a live claim
+     * @param expectedStatus Status the caller saw; when null any status is replaced (and returned)
+     * @param expectedVersion Version the caller saw (optional)
+     * @param currentStep New current step, or null to keep the existing one
+     * @param completedAt Completion time to set, or null to keep the existing one
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Transition transition(
+            UUID applicationId,
+            UUID reviewerId,
+            String expectedStatus,
+            Long expectedVersion,
+            String newStatus,
+            String currentStep,
+            LocalDateTime completedAt) {
+        
+        String fromStatus;
+        Application updated;
+        try {
+            if (expectedStatus != null) {
+                fromStatus = expectedStatus;
+                updated = applicationRepository.compareAndSetStatus(
+                        applicationId, reviewerId, expectedStatus, expectedVersion, newStatus, currentStep, completedAt, LocalDateTime.now())
+                    .orElseThrow(() -> notUpdated(applicationId, reviewerId, "status '" + expectedStatus + "'", expectedVersion));
+            } else {
+                // No expectation: one UPDATE that also returns the status it replaced
+                ApplicationStatusUpdateRepository.StatusUpdate update = applicationRepository.setStatus(
+                        applicationId, reviewerId, expectedVersion, newStatus, currentStep, completedAt, LocalDateTime.now())
+                    .orElseThrow(() -> notUpdated(applicationId, reviewerId, null, expectedVersion));
+                fromStatus = update.oldStatus();
+                updated = update.application();
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Reopening a closed application while the user already has another one open
+            if (violatesOpenApplicationGuard(e)) {
+                throw new ApplicationConflictException("User already has an open application for this service");
+            }
+            throw e;
+        }
+        
+        statusCounterService.recordTransition(fromStatus, newStatus);
+        statusStreamService.publishAfterCommit(updated.getUserId(), updated.getId(), updated.getReferenceNumber(),
+            fromStatus, updated.getStatus(), updated.getCurrentStep());
+        return new Transition(fromStatus, updated);
+    }
+    
+    /**
+     * Why a conditional update matched no row; only looked up once the update missed
+     */
+    private RuntimeException notUpdated(UUID applicationId, UUID reviewerId, String expectedState, Long expectedVersion) {
+        Application current = applicationRepository.findById(applicationId).orElse(null);
+        if (current == null) {
+            return new RuntimeException("Application not found");
+        }
+        if (isClaimedByAnother(current, reviewerId, LocalDateTime.now())) {
+            return new ApplicationConflictException("Application " + applicationId + " is claimed by reviewer "
+                + current.getClaimedBy() + " until " + current.getClaimExpiresAt());
+        }
+        return new ApplicationConflictException("Application " + applicationId + " is no longer in "
+            + (expectedState != null ? expectedState : "the expected state")
+            + (expectedVersion != null ? " at version " + expectedVersion : ""));
+    }
+    
+    /**
+     * Whether a reviewer other than reviewerId holds an unexpired claim on the application
+     */
+    public static boolean isClaimedByAnother(Application application, UUID reviewerId, LocalDateTime now) {
+        return application.getClaimedBy() != null
+            && !application.getClaimedBy().equals(reviewerId)
+            && (application.getClaimExpiresAt() == null || !application.getClaimExpiresAt().isBefore(now));
+    }
+    
+    public static boolean violatesOpenApplicationGuard(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(OPEN_APPLICATION_INDEX);
+    }
+}
@@ -78,6 +78,16 @@ public class AppointmentService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Get appointments linked to an application
+     */
+    public List<AppointmentDto> getApplicationAppointments(UUID applicationId) {
+        List<Appointment> appointments = appointmentRepository.findByApplicationId(applicationId);
+        return appointments.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+    
     /**
      * Get appointment by ID
      */
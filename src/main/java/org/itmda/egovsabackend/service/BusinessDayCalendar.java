@@ -0,0 +1,223 @@
+package org.itmda.egovsabackend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+/**
+ * Working-day calendar: weekdays that are not South African public holidays.
+ * 
+ * Holidays come from a config file (calendar.holidays-file). For every year in
+ * [calendar.first-year, calendar.last-year] the working days are precomputed into a bitset,
+ * together with a running count of working days and the position of every working day.
+ * "N working days after X" is then two array reads, and the epoch-day methods don't allocate.
+ */
+@Service
+public class BusinessDayCalendar {
+    
+    private final long firstEpochDay;
+    private final long lastEpochDay;
+    
+    private final BitSet workingDays;     // bit i: firstEpochDay + i is a working day
+    private final int[] workingDaysUpTo;  // i -> number of working days in [firstEpochDay, firstEpochDay + i]
+    private final int[] workingDayOffsets; // k -> offset of the (k+1)-th working day from firstEpochDay
+    
+    public BusinessDayCalendar(
+            @Value("${calendar.holidays-file:classpath:calendar/za-public-holidays.txt}") Resource holidaysFile,
+            @Value("${calendar.first-year:2000}") int firstYear,
+            @Value("${calendar.last-year:2100}") int lastYear) {
+        
+        if (lastYear < firstYear) {
+            throw new IllegalArgumentException("calendar.last-year must not be before calendar.first-year");
+        }
+        
+        HolidayRules rules = HolidayRules.parse(holidaysFile);
+        
+        this.firstEpochDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        this.lastEpochDay = LocalDate.of(lastYear, 12, 31).toEpochDay();
+        int days = (int) (lastEpochDay - firstEpochDay + 1);
+        
+        this.workingDays = new BitSet(days);
+        for (int year = firstYear; year <= lastYear; year++) {
+            markWorkingDays(year, rules);
+        }
+        
+        this.workingDaysUpTo = new int[days];
+        this.workingDayOffsets = new int[workingDays.cardinality()];
+        int count = 0;
+        for (int i = 0; i < days; i++) {
+            if (workingDays.get(i)) {
+                workingDayOffsets[count++] = i;
+            }
+            workingDaysUpTo[i] = count;
+        }
+    }
+    
+    public boolean isWorkingDay(LocalDate date) {
+        return isWorkingDay(date.toEpochDay());
+    }
+    
+    public boolean isWorkingDay(long epochDay) {
+        return workingDays.get(offset(epochDay));
+    }
+    
+    /**
+     * The date that is the given number of working days after date (date itself not counted).
+     * With zero working days, returns date if it is a working day, otherwise the next one.
+     */
+    public LocalDate addWorkingDays(LocalDate date, int workingDays) {
+        return LocalDate.ofEpochDay(addWorkingDays(date.toEpochDay(), workingDays));
+    }
+    
+    public long addWorkingDays(long epochDay, int workingDays) {
+        if (workingDays < 0) {
+            throw new IllegalArgumentException("workingDays must not be negative");
+        }
+        
+        int offset = offset(epochDay);
+        int index = workingDays == 0 && this.workingDays.get(offset)
+            ? workingDaysUpTo[offset] - 1
+            : workingDaysUpTo[offset] + Math.max(workingDays, 1) - 1;
+        if (index >= workingDayOffsets.length) {
+            throw new IllegalArgumentException("Result is after the last calendar year");
+        }
+        return firstEpochDay + workingDayOffsets[index];
+    }
+    
+    /**
+     * First working day on or after date
+     */
+    public LocalDate nextWorkingDay(LocalDate date) {
+        return addWorkingDays(date, 0);
+    }
+    
+    /**
+     * Number of working days in (from, to]
+     */
+    public int workingDaysBetween(LocalDate from, LocalDate to) {
+        return workingDaysUpTo[offset(to.toEpochDay())] - workingDaysUpTo[offset(from.toEpochDay())];
+    }
+    
+    private int offset(long epochDay) {
+        if (epochDay < firstEpochDay || epochDay > lastEpochDay) {
+            throw new IllegalArgumentException("Date is outside the business calendar range");
+        }
+        return (int) (epochDay - firstEpochDay);
+    }
+    
+    private void markWorkingDays(int year, HolidayRules rules) {
+        Set<LocalDate> holidays = rules.holidaysIn(year);
+        
+        LocalDate date = LocalDate.of(year, 1, 1);
+        while (date.getYear() == year) {
+            DayOfWeek day = date.getDayOfWeek();
+            if (day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY && !holidays.contains(date)) {
+                workingDays.set((int) (date.toEpochDay() - firstEpochDay));
+            }
+            date = date.plusDays(1);
+        }
+    }
+    
+    /**
+     * Holiday definitions read from the holidays file
+     */
+    private record HolidayRules(List<MonthDay> fixed, List<Integer> easterOffsets, Set<LocalDate> oneOff) {
+        
+        static HolidayRules parse(Resource file) {
+            List<MonthDay> fixed = new ArrayList<>();
+            List<Integer> easterOffsets = new ArrayList<>();
+            Set<LocalDate> oneOff = new HashSet<>();
+            
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.strip();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    
+                    String rule = line.split("\\s+", 2)[0];
+                    if (rule.startsWith("EASTER")) {
+                        String offset = rule.substring("EASTER".length());
+                        easterOffsets.add(offset.isEmpty() ? 0 : Integer.parseInt(offset.replace("+", "")));
+                    } else if (rule.length() == 5) {
+                        fixed.add(MonthDay.parse("--" + rule));
+                    } else {
+                        oneOff.add(LocalDate.parse(rule));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read holidays file " + file, e);
+            }
+            
+            return new HolidayRules(fixed, easterOffsets, oneOff);
+        }
+        
+        Set<LocalDate> holidaysIn(int year) {
+            Set<LocalDate> holidays = new HashSet<>();
+            for (MonthDay monthDay : fixed) {
+                holidays.add(monthDay.atYear(year));
+            }
+            LocalDate easter = easterSunday(year);
+            for (int offset : easterOffsets) {
+                holidays.add(easter.plusDays(offset));
+            }
+            for (LocalDate date : oneOff) {
+                if (date.getYear() == year) {
+                    holidays.add(date);
+                }
+            }
+            
+            // A holiday on a Sunday is also observed on the next day that isn't already a
+            // holiday (Christmas on a Sunday: Goodwill on Monday, Christmas moves to Tuesday)
+            List<LocalDate> sundays = holidays.stream()
+                .filter(holiday -> holiday.getDayOfWeek() == DayOfWeek.SUNDAY)
+                .sorted()
+                .toList();
+            for (LocalDate sunday : sundays) {
+                LocalDate observed = sunday.plusDays(1);
+                while (holidays.contains(observed)) {
+                    observed = observed.plusDays(1);
+                }
+                holidays.add(observed);
+            }
+            return holidays;
+        }
+        
+        /**
+         * Gregorian Easter Sunday (anonymous Gregorian algorithm)
+         */
+        static LocalDate easterSunday(int year) {
+            int a = year % 19;
+            int b = year / 100;
+            int c = year % 100;
+            int d = b / 4;
+            int e = b % 4;
+            int f = (b + 8) / 25;
+            int g = (b - f + 1) / 3;
+            int h = (19 * a + b - d - g + 15) % 30;
+            int i = c / 4;
+            int k = c % 4;
+            int l = (32 + 2 * e + 2 * i - h - k) % 7;
+            int m = (a + 11 * h + 22 * l) / 451;
+            int month = (h + l - 7 * m + 114) / 31;
+            int day = (h + l - 7 * m + 114) % 31 + 1;
+            return LocalDate.of(year, month, day);
+        }
+    }
+}
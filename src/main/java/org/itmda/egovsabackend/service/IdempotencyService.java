@@ -0,0 +1,254 @@
+package org.itmda.egovsabackend.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.itmda.egovsabackend.entity.IdempotencyRecord;
+import org.itmda.egovsabackend.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Honors the Idempotency-Key header on create endpoints.
+ * 
+ * The first request with a key claims it in idempotency_keys (INSERT ... ON CONFLICT), runs,
+ * and stores its status and body. A retry with the same key and the same request replays the
+ * stored response without running the action again; a retry while the first request is still
+ * running gets 409, and reusing a key for a different request gets 422. Completed responses
+ * are also kept in a bounded in-memory LRU so hot retries do not hit the database. Failed
+ * requests (exceptions and 5xx) release their claim so the client can retry with the same key.
+ * 
+ * The action and its stored response commit in the same transaction. A claim still pending
+ * after pending-timeout-seconds therefore never belongs to a committed create, so a retry may
+ * take it over; the original request then finds its claim gone and rolls back.
+ */
+@Service
+public class IdempotencyService {
+    
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+    
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+    private final Map<String, StoredResponse> cache;
+    private final TransactionTemplate transactionTemplate;
+    
+    record StoredResponse(String requestHash, int statusCode, String body, LocalDateTime expiresAt) {
+    }
+    
+    /**
+     * Response of a claimed request; body is the stored JSON, or null when nothing was committed
+     */
+    private record Outcome<T>(ResponseEntity<T> response, boolean committed, String body) {
+    }
+    
+    public IdempotencyService(
+            IdempotencyRecordRepository recordRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${idempotency.pending-timeout-seconds:60}") long pendingTimeoutSeconds,
+            @Value("${idempotency.max-entries:10000}") int maxEntries) {
+        
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.pendingTimeout = Duration.ofSeconds(pendingTimeoutSeconds);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+    
+    /**
+     * Run a create action at most once per (scope, key).
+     * 
+     * @param scope Endpoint and owner the key belongs to, e.g. "applications:create:" + userId
+     * @param key Idempotency-Key header value; without a key the action simply runs
+     * @param request Request body, hashed to detect a key reused for a different request
+     * @param responseType Body type, used to deserialize a replayed response
+     * @param action The endpoint's normal handling
+     * @return The action's response, or the stored response for a repeated request
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request,
+            Class<T> responseType, Supplier<ResponseEntity<T>> action) {
+        return execute(scope, key, request, objectMapper.constructType(responseType), action);
+    }
+    
+    /**
+     * Variant of {@link #execute(String, String, Object, Class, Supplier)} for generic bodies,
+     * e.g. {@code new TypeReference<List<ApplicationDocumentDto>>() {}}
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request,
+            TypeReference<T> responseType, Supplier<ResponseEntity<T>> action) {
+        return execute(scope, key, request, objectMapper.getTypeFactory().constructType(responseType), action);
+    }
+    
+    private <T> ResponseEntity<T> execute(String scope, String key, Object request,
+            JavaType responseType, Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        
+        String cacheKey = scope + '\n' + key;
+        String requestHash = hash(request);
+        // Postgres keeps microseconds; the claim time is matched again when completing
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        
+        StoredResponse cached = getCached(cacheKey, now);
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+        
+        int claimed = recordRepository.claim(scope, key, requestHash, now, now.plus(ttl), now.minus(pendingTimeout));
+        if (claimed == 0) {
+            Optional<IdempotencyRecord> existing = recordRepository.findById(new IdempotencyRecord.RecordId(scope, key));
+            if (existing.isEmpty()) {
+                // Purged between the claim and the lookup; let the client retry
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            IdempotencyRecord record = existing.get();
+            if (record.getStatusCode() == null) {
+                return ResponseEntity.status(
+                        record.getRequestHash().equals(requestHash) ? HttpStatus.CONFLICT : HttpStatus.UNPROCESSABLE_ENTITY).build();
+            }
+            StoredResponse stored = new StoredResponse(record.getRequestHash(), record.getStatusCode(),
+                    record.getResponseBody(), record.getExpiresAt());
+            putCached(cacheKey, stored);
+            return replay(stored, requestHash, responseType);
+        }
+        
+        Outcome<T> outcome;
+        try {
+            outcome = transactionTemplate.execute(tx -> runAndComplete(scope, key, now, tx, action));
+        } catch (RuntimeException e) {
+            recordRepository.release(scope, key, now);
+            throw e;
+        }
+        
+        ResponseEntity<T> response = outcome.response();
+        if (!outcome.committed()) {
+            // Rolled back: nothing was created, so the client may retry with the same key
+            recordRepository.release(scope, key, now);
+            return response;
+        }
+        putCached(cacheKey, new StoredResponse(requestHash, response.getStatusCode().value(), outcome.body(), now.plus(ttl)));
+        return response;
+    }
+    
+    /**
+     * Run the action and store its response in one transaction (the action's own @Transactional
+     * joins it), so the created resource and the completed key commit together or not at all.
+     * The completion only matches our own claim; if a retry took the claim over after
+     * pending-timeout-seconds, everything is rolled back and the caller gets 409.
+     */
+    private <T> Outcome<T> runAndComplete(String scope, String key, LocalDateTime claimedAt,
+            TransactionStatus tx, Supplier<ResponseEntity<T>> action) {
+        ResponseEntity<T> response = action.get();
+        if (response.getStatusCode().is5xxServerError() || tx.isRollbackOnly()) {
+            // Also when the action caught its own exception after marking the transaction rollback-only
+            tx.setRollbackOnly();
+            return new Outcome<>(response, false, null);
+        }
+        
+        String body = toJson(response.getBody());
+        if (recordRepository.complete(scope, key, claimedAt, response.getStatusCode().value(), body) == 0) {
+            tx.setRollbackOnly();
+            return new Outcome<>(ResponseEntity.status(HttpStatus.CONFLICT).build(), false, null);
+        }
+        return new Outcome<>(response, true, body);
+    }
+    
+    /**
+     * Remove expired keys from the table
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            recordRepository.deleteExpired(LocalDateTime.now());
+        } catch (Exception e) {
+            System.err.println("Error purging idempotency keys: " + e.getMessage());
+        }
+    }
+    
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String requestHash, JavaType responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.statusCode()).header(REPLAYED_HEADER, "true");
+        if (stored.body() == null) {
+            return builder.build();
+        }
+        try {
+            T body = objectMapper.readValue(stored.body(), responseType);
+            return builder.body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not readable", e);
+        }
+    }
+    
+    private StoredResponse getCached(String cacheKey, LocalDateTime now) {
+        synchronized (cache) {
+            StoredResponse stored = cache.get(cacheKey);
+            if (stored != null && stored.expiresAt().isBefore(now)) {
+                cache.remove(cacheKey);
+                return null;
+            }
+            return stored;
+        }
+    }
+    
+    private void putCached(String cacheKey, StoredResponse stored) {
+        synchronized (cache) {
+            cache.put(cacheKey, stored);
+        }
+    }
+    
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response cannot be stored for idempotent replay", e);
+        }
+    }
+    
+    String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(digest.digest(json));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot hash request", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.itmda.egovsabackend.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -14,6 +15,8 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class NotificationService {
 
+    private static final int MAX_BULK_IDS = 1000;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
@@ -79,15 +82,48 @@ public class NotificationService {
     }
 
     /**
-     * Mark all user notifications as read
+     * Mark all user notifications as read (single UPDATE)
+     * @return Number of notifications changed
+     */
+    @Transactional
+    public int markAllAsRead(UUID userId) {
+        return notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Mark selected notifications of a user as read (single UPDATE)
+     * @return Number of notifications changed; ids of other users' or already read notifications are skipped
+     */
+    @Transactional
+    public int markAsRead(UUID userId, List<UUID> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return 0;
+        }
+        if (notificationIds.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_IDS + " notifications per request");
+        }
+        return notificationRepository.markAsRead(userId, notificationIds, LocalDateTime.now());
+    }
+
+    /**
+     * Clear a user's notification list: all become inactive (single UPDATE)
+     * @return Number of notifications cleared
+     */
+    @Transactional
+    public int clearAll(UUID userId) {
+        return notificationRepository.deactivateAll(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Delete a user's notifications created before the cutoff (single DELETE)
+     * @return Number of notifications deleted
      */
     @Transactional
-    public void markAllAsRead(UUID userId) {
-        List<Notification> unreadNotifications = notificationRepository.findByUserIdAndIsReadOrderByCreatedAtDesc(userId, false);
-        for (Notification notification : unreadNotifications) {
-            notification.setIsRead(true);
+    public int deleteOlderThan(UUID userId, LocalDateTime cutoff) {
+        if (cutoff == null) {
+            throw new IllegalArgumentException("cutoff is required");
         }
-        notificationRepository.saveAll(unreadNotifications);
+        return notificationRepository.deleteOlderThan(userId, cutoff);
     }
 
     /**
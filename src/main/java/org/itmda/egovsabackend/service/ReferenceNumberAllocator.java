@@ -0,0 +1,121 @@
+package org.itmda.egovsabackend.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hands out application reference numbers: prefix + 7+ digit sequence number + check digit
+ * (e.g. PA00001237).
+ * 
+ * Numbers come from application_reference_seq, which increments by BLOCK_SIZE (see schema.sql).
+ * Each nextval reserves a whole block for one prefix, and the block is then served from memory
+ * with an atomic counter, so the database is hit once per BLOCK_SIZE references.
+ * Numbers left in a block when the app stops are never reused; references have gaps, never duplicates.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceNumberAllocator {
+    
+    /** Must match INCREMENT BY of application_reference_seq */
+    static final int BLOCK_SIZE = 100;
+    
+    private static final Block EXHAUSTED = new Block(0, 0);
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    private final ConcurrentMap<String, AtomicReference<Block>> blocks = new ConcurrentHashMap<>();
+    
+    /**
+     * Next reference number for the given prefix
+     */
+    public String allocate(String prefix) {
+        AtomicReference<Block> current = blocks.computeIfAbsent(prefix, p -> new AtomicReference<>(EXHAUSTED));
+        
+        while (true) {
+            Block block = current.get();
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return format(prefix, value);
+            }
+            
+            // Block used up: only one thread per prefix reserves the next one
+            synchronized (current) {
+                if (current.get() == block) {
+                    current.set(reserveBlock());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Whether the digits after the prefix carry a valid check digit.
+     * Lets lookups reject mistyped references without touching the database.
+     */
+    public static boolean hasValidCheckDigit(String referenceNumber) {
+        if (referenceNumber == null) {
+            return false;
+        }
+        
+        int start = 0;
+        while (start < referenceNumber.length() && !Character.isDigit(referenceNumber.charAt(start))) {
+            start++;
+        }
+        String digits = referenceNumber.substring(start);
+        if (digits.length() < 2 || !digits.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        
+        String payload = digits.substring(0, digits.length() - 1);
+        return checkDigit(payload) == digits.charAt(digits.length() - 1) - '0';
+    }
+    
+    private Block reserveBlock() {
+        Long start = jdbcTemplate.queryForObject("SELECT nextval('application_reference_seq')", Long.class);
+        if (start == null) {
+            throw new IllegalStateException("application_reference_seq returned no value");
+        }
+        return new Block(start, start + BLOCK_SIZE);
+    }
+    
+    private static String format(String prefix, long value) {
+        String payload = String.format("%07d", value);
+        return prefix + payload + checkDigit(payload);
+    }
+    
+    /**
+     * Luhn check digit: catches any single mistyped digit and most adjacent transpositions
+     */
+    static int checkDigit(String payload) {
+        int sum = 0;
+        boolean doubleIt = true;
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            int digit = payload.charAt(i) - '0';
+            if (doubleIt) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleIt = !doubleIt;
+        }
+        return (10 - sum % 10) % 10;
+    }
+    
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+        
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.itmda.egovsabackend.service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.itmda.egovsabackend.dto.ReviewClaimDto;
+import org.itmda.egovsabackend.entity.AdminAction;
+import org.itmda.egovsabackend.entity.Application;
+import org.itmda.egovsabackend.exception.ApplicationConflictException;
+import org.itmda.egovsabackend.repository.ApplicationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hands out "Under Review" applications to reviewers in disjoint batches.
+ * A claim is a lease: it expires on its own, so a reviewer who walks away
+ * doesn't hold applications forever. While the lease runs, only the claiming
+ * reviewer can approve, reject or change the status of the application (others
+ * get a 409); doing so releases the claim.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReviewQueueService {
+    
+    private static final String REVIEW_STATUS = "Under Review";
+    
+    private final ApplicationRepository applicationRepository;
+    private final AdminAuditWriter auditWriter;
+    
+    @Value("${review.claim.lease-minutes:15}")
+    private long leaseMinutes;
+    
+    @Value("${review.claim.max-batch-size:50}")
+    private int maxBatchSize;
+    
+    /**
+     * Claim the next applications waiting for review, oldest first
+     * 
+     * @param reviewerId Reviewer taking the applications
+     * @param count Number of applications wanted (capped at review.claim.max-batch-size)
+     */
+    @Transactional
+    public List<ReviewClaimDto> claimNext(UUID reviewerId, int count) {
+        if (reviewerId == null) {
+            throw new IllegalArgumentException("reviewerId is required");
+        }
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be at least 1");
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusMinutes(leaseMinutes);
+        List<Application> claimed = applicationRepository.claimForReview(
+            REVIEW_STATUS, reviewerId, now, expiresAt, Math.min(count, maxBatchSize));
+        
+        for (Application application : claimed) {
+            AdminAction action = new AdminAction();
+            action.setActionType("CLAIM");
+            action.setApplicationId(application.getId());
+            action.setUserId(application.getUserId());
+            action.setDetails("Claimed by reviewer " + reviewerId + " until " + expiresAt);
+            action.setTimestamp(now);
+            auditWriter.record(action);
+        }
+        
+        // RETURNING doesn't preserve the queue order
+        return claimed.stream()
+            .sorted(Comparator.comparing(Application::getCreatedAt).thenComparing(Application::getId))
+            .map(this::convertToClaimDto)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Hand an application back to the queue before its lease runs out
+     */
+    @Transactional
+    public void release(UUID applicationId, UUID reviewerId) {
+        UUID userId = applicationRepository.releaseClaim(applicationId, reviewerId)
+            .orElseThrow(() -> new ApplicationConflictException(
+                "Application " + applicationId + " is not claimed by reviewer " + reviewerId));
+        
+        AdminAction action = new AdminAction();
+        action.setActionType("RELEASE");
+        action.setApplicationId(applicationId);
+        action.setUserId(userId);
+        action.setDetails("Released by reviewer " + reviewerId);
+        auditWriter.record(action);
+    }
+    
+    private ReviewClaimDto convertToClaimDto(Application application) {
+        ReviewClaimDto dto = new ReviewClaimDto();
+        dto.setApplicationId(application.getId());
+        dto.setReferenceNumber(application.getReferenceNumber());
+        dto.setServiceType(application.getServiceType());
+        dto.setStatus(application.getStatus());
+        dto.setCurrentStep(application.getCurrentStep());
+        dto.setCreatedAt(application.getCreatedAt());
+        dto.setClaimedBy(application.getClaimedBy());
+        dto.setClaimExpiresAt(application.getClaimExpiresAt());
+        dto.setVersion(application.getVersion());
+        return dto;
+    }
+}
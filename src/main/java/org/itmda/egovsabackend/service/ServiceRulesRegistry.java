@@ -0,0 +1,158 @@
+package org.itmda.egovsabackend.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.itmda.egovsabackend.entity.Service;
+import org.itmda.egovsabackend.repository.ServiceRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-service-type rules (reference prefix, initial step, processing time, required documents,
+ * one-open-application guard) read from the services table. Held as an immutable snapshot
+ * that is swapped on reload, so lookups never lock. Reloaded at startup, after
+ * ServiceService.createService commits, and periodically to pick up changes made by other
+ * instances.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+public class ServiceRulesRegistry {
+    
+    public static final ServiceRule DEFAULT_RULE = new ServiceRule(null, "APP", "Submitted", 14, Set.of(), false);
+    
+    private final ServiceRepository serviceRepository;
+    private final ObjectMapper objectMapper;
+    
+    // Keyed by the service name as stored and by its lower-case form
+    private volatile Map<String, ServiceRule> rules = Map.of();
+    
+    /**
+     * Rules applied when creating an application for one service type
+     */
+    public record ServiceRule(
+            String serviceName,
+            String referencePrefix,
+            String initialStep,
+            int processingTimeDays,
+            Set<String> requiredDocuments,
+            boolean singleOpenApplication) {
+        
+        /**
+         * Whether a document type may be attached to this service's applications.
+         * Services that list no required documents accept any type.
+         */
+        public boolean acceptsDocumentType(String documentType) {
+            return requiredDocuments.isEmpty()
+                || (documentType != null && requiredDocuments.contains(documentType.toLowerCase(Locale.ROOT)));
+        }
+    }
+    
+    /**
+     * Rules for a service type, matched case-insensitively; unknown types get DEFAULT_RULE
+     */
+    public ServiceRule getRule(String serviceType) {
+        if (serviceType == null) {
+            return DEFAULT_RULE;
+        }
+        
+        Map<String, ServiceRule> snapshot = rules;
+        // Clients normally send the name exactly as stored, which needs no case folding
+        ServiceRule rule = snapshot.get(serviceType);
+        if (rule == null) {
+            rule = snapshot.get(serviceType.toLowerCase(Locale.ROOT));
+        }
+        return rule != null ? rule : DEFAULT_RULE;
+    }
+    
+    /**
+     * Reload all rules from the services table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${service-rules.refresh-interval-ms:300000}",
+            initialDelayString = "${service-rules.refresh-interval-ms:300000}")
+    public void refresh() {
+        List<Service> services = serviceRepository.findAll();
+        
+        Map<String, ServiceRule> loaded = new HashMap<>();
+        for (Service service : services) {
+            ServiceRule rule = toRule(service);
+            loaded.put(service.getServiceName(), rule);
+            loaded.putIfAbsent(service.getServiceName().toLowerCase(Locale.ROOT), rule);
+        }
+        
+        rules = Map.copyOf(loaded);
+    }
+    
+    /**
+     * Reload once the current transaction commits (immediately when there is none)
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+        });
+    }
+    
+    private ServiceRule toRule(Service service) {
+        return new ServiceRule(
+            service.getServiceName(),
+            service.getReferencePrefix() != null ? service.getReferencePrefix() : DEFAULT_RULE.referencePrefix(),
+            service.getInitialStep() != null ? service.getInitialStep() : DEFAULT_RULE.initialStep(),
+            service.getProcessingTimeDays() != null ? service.getProcessingTimeDays() : DEFAULT_RULE.processingTimeDays(),
+            parseRequiredDocuments(service),
+            Boolean.TRUE.equals(service.getSingleOpenApplication()));
+    }
+    
+    /**
+     * Document types from the required_documents JSON array, lower-cased. Entries may be
+     * plain strings or objects with a "documentType" or "type" field.
+     */
+    private Set<String> parseRequiredDocuments(Service service) {
+        String json = service.getRequiredDocuments();
+        if (json == null || json.isBlank()) {
+            return Set.of();
+        }
+        
+        try {
+            JsonNode array = objectMapper.readTree(json);
+            if (!array.isArray()) {
+                return Set.of();
+            }
+            Set<String> types = new HashSet<>();
+            for (JsonNode entry : array) {
+                JsonNode type = entry.isObject()
+                    ? (entry.has("documentType") ? entry.get("documentType") : entry.get("type"))
+                    : entry;
+                if (type != null && type.isTextual() && !type.asText().isBlank()) {
+                    types.add(type.asText().toLowerCase(Locale.ROOT));
+                }
+            }
+            return Set.copyOf(types);
+        } catch (JsonProcessingException e) {
+            // A malformed list must not stop the other rules from loading
+            System.err.println("Invalid required_documents for service " + service.getServiceName() + ": " + e.getMessage());
+            return Set.of();
+        }
+    }
+}
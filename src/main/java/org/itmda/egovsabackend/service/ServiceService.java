@@ -15,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 public class ServiceService {
     
     private final ServiceRepository serviceRepository;
+    private final ServiceRulesRegistry serviceRulesRegistry;
     
     /**
      * Get all active services
@@ -56,10 +57,14 @@ public class ServiceService {
         service.setCategory(serviceDto.getCategory());
         service.setRequiredDocuments(serviceDto.getRequiredDocuments());
         service.setProcessingTimeDays(serviceDto.getProcessingTimeDays());
+        service.setReferencePrefix(serviceDto.getReferencePrefix());
+        service.setInitialStep(serviceDto.getInitialStep());
+        service.setSingleOpenApplication(serviceDto.getSingleOpenApplication());
         service.setFees(serviceDto.getFees());
         service.setIsActive(serviceDto.getIsActive() != null ? serviceDto.getIsActive() : true);
         
         Service saved = serviceRepository.save(service);
+        serviceRulesRegistry.refreshAfterCommit();
         return convertToDto(saved);
     }
     
@@ -71,6 +76,9 @@ public class ServiceService {
         dto.setCategory(service.getCategory());
         dto.setRequiredDocuments(service.getRequiredDocuments());
         dto.setProcessingTimeDays(service.getProcessingTimeDays());
+        dto.setReferencePrefix(service.getReferencePrefix());
+        dto.setInitialStep(service.getInitialStep());
+        dto.setSingleOpenApplication(service.getSingleOpenApplication());
         dto.setFees(service.getFees());
         dto.setIsActive(service.getIsActive());
         dto.setCreatedAt(service.getCreatedAt());
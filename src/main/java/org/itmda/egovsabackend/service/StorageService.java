@@ -9,6 +9,7 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,6 +17,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @Service
 public class StorageService {
     
+    /** Most objects Supabase Storage removes in one delete request */
+    public static final int MAX_DELETE_BATCH = 1000;
+    
     @Value("${supabase.url}")
     private String supabaseUrl;
     
@@ -130,6 +134,46 @@ public class StorageService {
         }
     }
     
+    /**
+     * Delete files from the bucket, up to MAX_DELETE_BATCH per request.
+     * Files that no longer exist are ignored by Supabase, so a retry is safe.
+     * @param fileUrls Full storage URLs or paths within the bucket
+     */
+    public void deleteFiles(List<String> fileUrls) {
+        List<String> paths = fileUrls.stream()
+            .filter(url -> url != null && !url.isBlank())
+            .map(this::extractFilePath)
+            .toList();
+        
+        for (int from = 0; from < paths.size(); from += MAX_DELETE_BATCH) {
+            List<String> batch = paths.subList(from, Math.min(from + MAX_DELETE_BATCH, paths.size()));
+            try {
+                String endpoint = String.format("%s/storage/v1/object/%s", supabaseUrl, bucketName);
+                String jsonBody = objectMapper.writeValueAsString(Map.of("prefixes", batch));
+                
+                HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(endpoint))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + supabaseKey)
+                    .header("apikey", supabaseKey)
+                    .method("DELETE", HttpRequest.BodyPublishers.ofString(jsonBody))
+                    .build();
+                
+                HttpResponse<String> response = httpClient.send(request, 
+                    HttpResponse.BodyHandlers.ofString());
+                
+                if (response.statusCode() != 200) {
+                    throw new RuntimeException("Failed to delete files: " + response.body());
+                }
+                
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException("Error deleting " + batch.size() + " files from storage", e);
+            }
+        }
+    }
+    
     /**
      * Get public URL for a file (no signature required for public buckets)
      */
@@ -0,0 +1,117 @@
+-- PostgreSQL-specific indexes that can't be expressed through JPA @Index.
+-- Runs after Hibernate's ddl-auto (spring.jpa.defer-datasource-initialization=true),
+-- so every statement must be idempotent.
+
+-- Admin application search: prefix match on reference number, applicant name and ID number
+CREATE INDEX IF NOT EXISTS idx_applications_reference_number_prefix
+    ON applications (reference_number text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_profiles_full_name_lower_prefix
+    ON profiles (lower(full_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_profiles_id_number_prefix
+    ON profiles (id_number text_pattern_ops);
+
+-- Admin user directory: prefix search on name (above), email, phone and ID number (above)
+CREATE INDEX IF NOT EXISTS idx_profiles_email_lower_prefix
+    ON profiles (lower(email) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_profiles_phone_prefix
+    ON profiles (phone text_pattern_ops);
+
+-- Audit log: admin_actions is append-only, so timestamp correlates with physical order
+-- and a BRIN index serves time-range scans at a fraction of a b-tree's size
+CREATE INDEX IF NOT EXISTS idx_admin_actions_timestamp_brin
+    ON admin_actions USING brin ("timestamp");
+
+-- Application reference numbers: each nextval reserves a block of 100 numbers
+-- (INCREMENT BY must match ReferenceNumberAllocator.BLOCK_SIZE)
+CREATE SEQUENCE IF NOT EXISTS application_reference_seq START WITH 1 INCREMENT BY 100;
+
+-- Service rules: carry the reference prefixes and initial steps that used to be hardcoded
+-- in ApplicationService (and default processing times) over to existing services rows, only where not set yet
+UPDATE services SET reference_prefix = CASE
+        WHEN lower(service_name) IN ('smart id', 'smart id renewal', 'smart id application') THEN 'ID'
+        WHEN lower(service_name) IN ('passport', 'passport application') THEN 'PA'
+        WHEN lower(service_name) IN ('learner''s licence', 'learners licence application') THEN 'LL'
+        WHEN lower(service_name) IN ('driving licence', 'driving license renewal') THEN 'DL'
+        WHEN lower(service_name) = 'birth certificate' THEN 'BC'
+        WHEN lower(service_name) IN ('tax return', 'tax return filing') THEN 'TAX'
+        WHEN lower(service_name) IN ('business license', 'business license application') THEN 'BUS'
+        WHEN lower(service_name) = 'vehicle registration' THEN 'VR'
+        ELSE 'APP'
+    END
+    WHERE reference_prefix IS NULL;
+UPDATE services SET initial_step = CASE
+        WHEN lower(service_name) IN ('smart id', 'smart id renewal', 'smart id application') THEN 'Document Verification'
+        WHEN lower(service_name) IN ('passport', 'passport application') THEN 'Application Review'
+        WHEN lower(service_name) IN ('learner''s licence', 'learners licence application') THEN 'Appointment Scheduled'
+        WHEN lower(service_name) IN ('tax return', 'tax return filing') THEN 'Document Verification'
+        ELSE 'Submitted'
+    END
+    WHERE initial_step IS NULL;
+UPDATE services SET processing_time_days = CASE
+        WHEN lower(service_name) IN ('passport', 'passport application') THEN 21
+        WHEN lower(service_name) IN ('learner''s licence', 'learners licence application') THEN 7
+        WHEN lower(service_name) IN ('driving licence', 'driving license renewal') THEN 10
+        WHEN lower(service_name) IN ('tax return', 'tax return filing') THEN 21
+        ELSE 14
+    END
+    WHERE processing_time_days IS NULL;
+-- The one-open-application rule is opt-in (null means off); enable it for identity documents
+UPDATE services SET single_open_application = true
+    WHERE single_open_application IS NULL
+      AND lower(service_name) IN ('smart id', 'smart id renewal', 'smart id application', 'passport', 'passport application');
+
+-- application_data used to be TEXT holding JSON; convert it to jsonb once.
+-- Rows that don't parse would abort the cast (and startup), so they are copied to
+-- application_data_quarantine and cleared first.
+-- (Single-quoted DO body: the script splitter doesn't understand $$ quoting.)
+DO '
+DECLARE
+    legacy RECORD;
+BEGIN
+    IF (SELECT data_type FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = ''applications''
+            AND column_name = ''application_data'') = ''text'' THEN
+        CREATE TABLE IF NOT EXISTS application_data_quarantine (
+            application_id UUID PRIMARY KEY,
+            application_data TEXT,
+            error TEXT,
+            quarantined_at TIMESTAMP NOT NULL DEFAULT now()
+        );
+        FOR legacy IN SELECT id, application_data FROM applications
+                WHERE NULLIF(btrim(application_data), '''') IS NOT NULL LOOP
+            BEGIN
+                PERFORM legacy.application_data::jsonb;
+            EXCEPTION WHEN data_exception THEN
+                INSERT INTO application_data_quarantine (application_id, application_data, error)
+                    VALUES (legacy.id, legacy.application_data, SQLERRM)
+                    ON CONFLICT (application_id) DO NOTHING;
+                UPDATE applications SET application_data = NULL WHERE id = legacy.id;
+            END;
+        END LOOP;
+        ALTER TABLE applications
+            ALTER COLUMN application_data TYPE jsonb USING NULLIF(btrim(application_data), '''')::jsonb;
+    END IF;
+END';
+
+-- JSON path filters on form data (@@ / @? / @>)
+CREATE INDEX IF NOT EXISTS idx_applications_application_data_gin
+    ON applications USING gin (application_data jsonb_path_ops);
+
+-- Soft-deleted applications waiting for ApplicationPurgeWorker (normally a handful of rows)
+CREATE INDEX IF NOT EXISTS idx_applications_deleted_at
+    ON applications (deleted_at) WHERE deleted_at IS NOT NULL;
+
+-- Stored files of purged applications, queued in the purge transaction and deleted from
+-- storage after it commits (rows are removed once the storage call succeeds)
+CREATE TABLE IF NOT EXISTS storage_file_deletions (
+    id BIGSERIAL PRIMARY KEY,
+    file_url TEXT NOT NULL,
+    queued_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- One open application per user and service type, for services with single_open_application.
+-- applications.single_open is copied from the service when the application is created
+-- (existing rows default to false, so older duplicates do not block the index build)
+CREATE UNIQUE INDEX IF NOT EXISTS uq_applications_user_service_open
+    ON applications (user_id, service_type)
+    WHERE single_open AND status NOT IN ('Completed', 'Rejected') AND deleted_at IS NULL;
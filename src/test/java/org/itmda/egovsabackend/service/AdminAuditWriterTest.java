@@ -0,0 +1,117 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.entity.AdminAction;
+import org.itmda.egovsabackend.entity.AuditOutboxEntry;
+import org.itmda.egovsabackend.repository.AuditOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdminAuditWriterTest {
+
+    private final AuditOutboxRepository outboxRepository = mock(AuditOutboxRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdminAuditWriter writer = new AdminAuditWriter(
+        outboxRepository, mock(PlatformTransactionManager.class), meterRegistry, 2, 3);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordAppendsToTheOutboxInsteadOfAdminActions() {
+        AdminAction approve = new AdminAction();
+        approve.setActionType("APPROVE");
+        approve.setApplicationId(UUID.randomUUID());
+        AdminAction reject = new AdminAction();
+        reject.setActionType("REJECT");
+        reject.setApplicationId(UUID.randomUUID());
+
+        writer.recordAll(List.of(approve, reject));
+
+        ArgumentCaptor<List<AuditOutboxEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).insert(entries.capture());
+        assertEquals(List.of("APPROVE", "REJECT"),
+            entries.getValue().stream().map(AuditOutboxEntry::getActionType).toList());
+        verify(outboxRepository, never()).insertAdminActions(anyList());
+    }
+
+    @Test
+    void flushCopiesAndDeletesBatchesUntilTheOutboxIsDrained() {
+        AuditOutboxEntry first = entry(1);
+        AuditOutboxEntry second = entry(2);
+        AuditOutboxEntry third = entry(3);
+        when(outboxRepository.lockPending(2)).thenReturn(List.of(first, second), List.of(third));
+
+        writer.flush();
+
+        verify(outboxRepository).insertAdminActions(List.of(first, second));
+        verify(outboxRepository).delete(List.of(1L, 2L));
+        verify(outboxRepository).insertAdminActions(List.of(third));
+        verify(outboxRepository).delete(List.of(3L));
+        assertEquals(3, meterRegistry.counter("audit.flush.records").count());
+    }
+
+    @Test
+    void failingBatchFallsBackToRowByRowSoOneBadRowDoesNotStallTheRest() {
+        AuditOutboxEntry good = entry(1);
+        AuditOutboxEntry bad = entry(2);
+        when(outboxRepository.lockPending(2)).thenReturn(List.of(good, bad));
+        doThrow(new DataIntegrityViolationException("value too long"))
+            .when(outboxRepository).insertAdminActions(argThat(entries -> entries.contains(bad)));
+        when(outboxRepository.findPendingIds(2)).thenReturn(List.of(1L, 2L));
+        when(outboxRepository.lockPending(1L)).thenReturn(Optional.of(good));
+        when(outboxRepository.lockPending(2L)).thenReturn(Optional.of(bad));
+
+        writer.flush();
+
+        verify(outboxRepository).delete(List.of(1L));
+        verify(outboxRepository, never()).delete(List.of(2L));
+        verify(outboxRepository).recordFailure(eq(2L), anyString(), eq(3), any(LocalDateTime.class));
+        verify(outboxRepository, never()).recordFailure(eq(1L), anyString(), anyInt(), any());
+        assertEquals(1, meterRegistry.counter("audit.flush.failures").count());
+    }
+
+    @Test
+    void rowThatKeepsFailingIsDeadLettered() {
+        AuditOutboxEntry bad = entry(7);
+        when(outboxRepository.findPendingIds(2)).thenReturn(List.of(7L));
+        when(outboxRepository.lockPending(7L)).thenReturn(Optional.of(bad));
+        doThrow(new DataIntegrityViolationException("null value in column")).when(outboxRepository).insertAdminActions(anyList());
+        when(outboxRepository.recordFailure(anyLong(), anyString(), anyInt(), any())).thenReturn(true);
+
+        writer.relayOneByOne();
+
+        verify(outboxRepository, never()).delete(anyList());
+        assertEquals(1, meterRegistry.counter("audit.outbox.dead.lettered").count());
+    }
+
+    private AuditOutboxEntry entry(long id) {
+        AuditOutboxEntry entry = new AuditOutboxEntry();
+        entry.setId(id);
+        entry.setActionType("APPROVE");
+        entry.setRecordId(UUID.randomUUID());
+        entry.setApplicationId(UUID.randomUUID());
+        entry.setOccurredAt(LocalDateTime.now());
+        return entry;
+    }
+}
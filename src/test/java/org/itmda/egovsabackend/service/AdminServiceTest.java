@@ -0,0 +1,462 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.dto.AdminActionDto;
+import org.itmda.egovsabackend.dto.AdminActionFilter;
+import org.itmda.egovsabackend.dto.AdminApplicationDto;
+import org.itmda.egovsabackend.dto.AdminApplicationFilter;
+import org.itmda.egovsabackend.dto.AdminApplicationRow;
+import org.itmda.egovsabackend.dto.AdminStatisticsDto;
+import org.itmda.egovsabackend.dto.AdminUserDto;
+import org.itmda.egovsabackend.dto.BulkActionResultDto;
+import org.itmda.egovsabackend.dto.BulkApplicationActionRequest;
+import org.itmda.egovsabackend.entity.AdminAction;
+import org.itmda.egovsabackend.entity.Application;
+import org.itmda.egovsabackend.dto.KeysetCursor;
+import org.itmda.egovsabackend.dto.CursorPage;
+import org.itmda.egovsabackend.entity.ApplicationDocument;
+import org.itmda.egovsabackend.entity.ApplicationStatusHistory;
+import org.itmda.egovsabackend.repository.AdminActionRepository;
+import org.itmda.egovsabackend.repository.AdminBulkWriteRepository;
+import org.itmda.egovsabackend.repository.ApplicationDocumentRepository;
+import org.itmda.egovsabackend.repository.ApplicationRepository;
+import org.itmda.egovsabackend.repository.ApplicationStatusHistoryRepository;
+import org.itmda.egovsabackend.repository.ProfileRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+@ExtendWith(MockitoExtension.class)
+class AdminServiceTest {
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private ApplicationDocumentRepository documentRepository;
+
+    @Mock
+    private ApplicationStatusCounterService statusCounterService;
+
+    @Mock
+    private ApplicationStatusHistoryRepository statusHistoryRepository;
+
+    @Mock
+    private AdminActionRepository adminActionRepository;
+
+    @Mock
+    private AdminBulkWriteRepository bulkWriteRepository;
+
+    @Mock
+    private ApplicationStatusStreamService statusStreamService;
+
+    @Mock
+    private AdminAuditWriter auditWriter;
+
+    @InjectMocks
+    private AdminService adminService;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void getAllApplicationsUsesFixedNumberOfQueriesPerPage(int pageSize) {
+        List<AdminApplicationRow> rows = new ArrayList<>();
+        List<ApplicationDocument> documents = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            AdminApplicationRow row = row("Applicant " + i);
+            rows.add(row);
+            documents.add(document(row.getId()));
+        }
+        when(applicationRepository.findAdminRows(any(AdminApplicationFilter.class), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(rows, PageRequest.of(0, pageSize), pageSize));
+        when(documentRepository.findByApplicationIdIn(anyCollection())).thenReturn(documents);
+
+        Page<AdminApplicationDto> page = adminService.getAllApplications(0, pageSize, "createdAt", new AdminApplicationFilter());
+
+        assertEquals(pageSize, page.getContent().size());
+        page.getContent().forEach(dto -> assertEquals(1, dto.getDocuments().size()));
+        verify(applicationRepository, times(1)).findAdminRows(any(AdminApplicationFilter.class), any(Pageable.class));
+        verify(documentRepository, times(1)).findByApplicationIdIn(anyCollection());
+        verify(documentRepository, never()).findByApplicationId(any());
+        verify(profileRepository, never()).findById(any());
+    }
+
+    @Test
+    void getAllApplicationsSkipsDocumentQueryForEmptyPage() {
+        when(applicationRepository.findAdminRows(any(AdminApplicationFilter.class), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(), PageRequest.of(5, 20), 0));
+
+        Page<AdminApplicationDto> page = adminService.getAllApplications(5, 20, null, new AdminApplicationFilter());
+
+        assertEquals(0, page.getContent().size());
+        verify(documentRepository, never()).findByApplicationIdIn(anyCollection());
+    }
+
+    @Test
+    void getAllApplicationsFallsBackWhenProfileIsMissing() {
+        AdminApplicationRow row = row(null);
+        when(applicationRepository.findAdminRows(any(AdminApplicationFilter.class), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(row), PageRequest.of(0, 20), 1));
+        when(documentRepository.findByApplicationIdIn(anyCollection())).thenReturn(List.of());
+
+        AdminApplicationDto dto = adminService.getAllApplications(0, 20, null, new AdminApplicationFilter()).getContent().get(0);
+
+        assertEquals("Unknown", dto.getApplicantName());
+        assertEquals("", dto.getApplicantEmail());
+        assertEquals(row.getCreatedAt(), dto.getSubmittedAt());
+        assertEquals(0, dto.getDocuments().size());
+    }
+
+    @Test
+    void getAllApplicationsPassesFiltersToRepository() {
+        when(applicationRepository.findAdminRows(any(AdminApplicationFilter.class), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+        adminService.getAllApplications(0, 20, "submittedAt", new AdminApplicationFilter("Under Review", "Passport", "PA12"));
+
+        verify(applicationRepository).findAdminRows(
+            eq(new AdminApplicationFilter("Under Review", "Passport", "PA12")),
+            eq(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "submittedAt", "id"))));
+    }
+
+    @Test
+    void getAllApplicationsClampsThePageSize() {
+        when(applicationRepository.findAdminRows(any(AdminApplicationFilter.class), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 200), 0));
+
+        adminService.getAllApplications(0, 100000, null, new AdminApplicationFilter());
+        adminService.getAllApplications(0, 0, null, new AdminApplicationFilter());
+
+        verify(applicationRepository).findAdminRows(any(AdminApplicationFilter.class),
+            eq(PageRequest.of(0, 200, Sort.by(Sort.Direction.DESC, "createdAt", "id"))));
+        verify(applicationRepository).findAdminRows(any(AdminApplicationFilter.class),
+            eq(PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "createdAt", "id"))));
+    }
+
+    @Test
+    void getApplicationsAfterReturnsCursorAndSkipsCount() {
+        List<AdminApplicationRow> rows = List.of(row("A"), row("B"), row("C"));
+        when(applicationRepository.findAdminRowsAfter(any(AdminApplicationFilter.class), eq("createdAt"), isNull(), eq(3)))
+            .thenReturn(rows);
+        when(documentRepository.findByApplicationIdIn(anyCollection())).thenReturn(List.of());
+
+        CursorPage<AdminApplicationDto> page = adminService.getApplicationsAfter(2, "createdAt", new AdminApplicationFilter(), null, false);
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertNull(page.getTotalElements());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals("createdAt", next.getSortField());
+        assertEquals(rows.get(1).getId(), next.getId());
+        assertEquals(rows.get(1).getCreatedAt(), next.getSortValue());
+        verify(applicationRepository, never()).countAdminRows(any());
+    }
+
+    @Test
+    void getApplicationsAfterClampsPageSize() {
+        List<AdminApplicationRow> rows = List.of(row("A"), row("B"));
+        when(applicationRepository.findAdminRowsAfter(any(AdminApplicationFilter.class), eq("createdAt"), isNull(), eq(2)))
+            .thenReturn(rows);
+        when(documentRepository.findByApplicationIdIn(anyCollection())).thenReturn(List.of());
+
+        CursorPage<AdminApplicationDto> page = adminService.getApplicationsAfter(0, "createdAt", new AdminApplicationFilter(), null, false);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(rows.get(0).getId(), KeysetCursor.decode(page.getNextCursor()).getId());
+
+        adminService.getApplicationsAfter(5000, "createdAt", new AdminApplicationFilter(), null, false);
+        verify(applicationRepository).findAdminRowsAfter(any(AdminApplicationFilter.class), eq("createdAt"), isNull(), eq(201));
+    }
+
+    @Test
+    void getApplicationsAfterCanLeaveOutApplicationData() {
+        AdminApplicationFilter filter = new AdminApplicationFilter(null, null, null, "$.province == \"Gauteng\"", List.of());
+        when(applicationRepository.isValidJsonPath("$.province == \"Gauteng\"")).thenReturn(true);
+        when(applicationRepository.findAdminRowsAfter(eq(filter), eq("createdAt"), isNull(), eq(21)))
+            .thenReturn(List.of(row("A")));
+        when(documentRepository.findByApplicationIdIn(anyCollection())).thenReturn(List.of());
+
+        CursorPage<AdminApplicationDto> page = adminService.getApplicationsAfter(20, "createdAt", filter, null, false);
+
+        assertNull(page.getContent().get(0).getApplicationData());
+    }
+
+    @Test
+    void getApplicationsRejectsInvalidDataFields() {
+        AdminApplicationFilter filter = new AdminApplicationFilter(null, null, null, null, List.of("name,'x'"));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> adminService.getAllApplications(0, 20, null, filter));
+        assertThrows(IllegalArgumentException.class,
+            () -> adminService.getApplicationsAfter(20, "createdAt", filter, null, false));
+        verify(applicationRepository, never()).findAdminRows(any(), any());
+    }
+
+    @Test
+    void getApplicationsAfterSeeksFromDecodedCursor() {
+        KeysetCursor cursor = new KeysetCursor("submittedAt", LocalDateTime.now(), UUID.randomUUID());
+        when(applicationRepository.findAdminRowsAfter(any(AdminApplicationFilter.class), eq("submittedAt"), eq(cursor), eq(21)))
+            .thenReturn(List.of(row("A")));
+        when(documentRepository.findByApplicationIdIn(anyCollection())).thenReturn(List.of());
+        when(applicationRepository.countAdminRows(any(AdminApplicationFilter.class))).thenReturn(41L);
+
+        CursorPage<AdminApplicationDto> page = adminService.getApplicationsAfter(
+            20, "submittedAt", new AdminApplicationFilter(), cursor.encode(), true);
+
+        assertEquals(1, page.getContent().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        assertEquals(41L, page.getTotalElements());
+    }
+
+    @Test
+    void getApplicationsAfterRejectsCursorForDifferentSortField() {
+        String cursor = new KeysetCursor("updatedAt", null, UUID.randomUUID()).encode();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> adminService.getApplicationsAfter(20, "createdAt", new AdminApplicationFilter(), cursor, false));
+        assertThrows(IllegalArgumentException.class,
+            () -> adminService.getApplicationsAfter(20, "createdAt", new AdminApplicationFilter(), "not-a-cursor", false));
+    }
+
+    @Test
+    void getStatisticsReadsMaintainedCounters() {
+        when(statusCounterService.getCounts()).thenReturn(Map.of(
+            "Under Review", 4L,
+            "Completed", 10L,
+            "Rejected", 2L,
+            "In Progress", 7L,
+            "Pending Payment", 1L));
+
+        AdminStatisticsDto stats = adminService.getStatistics();
+
+        assertEquals(24, stats.getTotalApplications());
+        assertEquals(4, stats.getPendingReview());
+        assertEquals(10, stats.getApproved());
+        assertEquals(2, stats.getRejected());
+        assertEquals(7, stats.getInProgress());
+        assertEquals(1, stats.getPendingPayment());
+        verify(applicationRepository, never()).findAll();
+    }
+
+    @Test
+    void invalidDataPathIsRejectedBeforeQuerying() {
+        AdminApplicationFilter filter = new AdminApplicationFilter(null, null, null, " $.a == ", null);
+        when(applicationRepository.isValidJsonPath("$.a ==")).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> adminService.getAllApplications(0, 20, null, filter));
+        assertThrows(IllegalArgumentException.class, () -> adminService.getApplicationsAfter(20, null, filter, null, false));
+        verify(applicationRepository, never()).findAdminRows(any(), any());
+        verify(applicationRepository, never()).findAdminRowsAfter(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkApproveLoadsOnceAndWritesInBatches() {
+        Application first = application("Under Review");
+        Application second = application("Completed");
+        UUID missing = UUID.randomUUID();
+        when(applicationRepository.findAllById(anyCollection())).thenReturn(List.of(first, second));
+        when(bulkWriteRepository.updateApplicationStatuses(anyMap(), isNull(), eq("Completed"), eq("Approved"), any(), any()))
+            .thenReturn(Set.of(first.getId(), second.getId()));
+
+        List<BulkActionResultDto> results = adminService.bulkUpdateApplications(new BulkApplicationActionRequest(
+            List.of(first.getId(), missing, second.getId(), first.getId()), "approve", null, null, "Batch", null));
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("Completed", results.get(0).getStatus());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(missing, results.get(1).getApplicationId());
+        assertTrue(results.get(2).isSuccess());
+
+        verify(applicationRepository, times(1)).findAllById(anyCollection());
+        verify(applicationRepository, never()).save(any());
+        verify(bulkWriteRepository).updateApplicationStatuses(
+            eq(Map.of(first.getId(), "Under Review", second.getId(), "Completed")), isNull(), eq("Completed"), eq("Approved"), any(), any());
+        ArgumentCaptor<List<AdminAction>> actions = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<ApplicationStatusHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(bulkWriteRepository).insertStatusHistory(history.capture(), any());
+        verify(auditWriter).recordAll(actions.capture());
+        assertEquals(2, actions.getValue().size());
+        assertEquals(2, history.getValue().size());
+        verify(bulkWriteRepository).insertNotifications(any(), any());
+        // Only the application that actually changed status moves a counter
+        verify(statusCounterService).recordDeltas(Map.of("Under Review", -1L, "Completed", 1L));
+    }
+
+    @Test
+    void bulkRejectReportsRowsChangedConcurrently() {
+        UUID reviewer = UUID.randomUUID();
+        Application first = application("Under Review");
+        Application raced = application("Under Review");
+        Application claimed = application("Under Review");
+        claimed.setClaimedBy(UUID.randomUUID());
+        claimed.setClaimExpiresAt(LocalDateTime.now().plusMinutes(10));
+        when(applicationRepository.findAllById(anyCollection())).thenReturn(List.of(first, raced, claimed));
+        when(bulkWriteRepository.updateApplicationStatuses(anyMap(), eq(reviewer), eq("Rejected"), eq("Rejected"), any(), any()))
+            .thenReturn(Set.of(first.getId()));
+
+        List<BulkActionResultDto> results = adminService.bulkUpdateApplications(new BulkApplicationActionRequest(
+            List.of(first.getId(), raced.getId(), claimed.getId()), "REJECT", null, null, null, reviewer));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Application was modified concurrently", results.get(1).getMessage());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals("Application is claimed by another reviewer", results.get(2).getMessage());
+        verify(statusCounterService).recordDeltas(Map.of("Under Review", -1L, "Rejected", 1L));
+    }
+
+    @Test
+    void bulkUpdateRejectsInvalidRequests() {
+        List<UUID> ids = List.of(UUID.randomUUID());
+
+        assertThrows(IllegalArgumentException.class, () -> adminService.bulkUpdateApplications(
+            new BulkApplicationActionRequest(List.of(), "APPROVE", null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> adminService.bulkUpdateApplications(
+            new BulkApplicationActionRequest(ids, "ARCHIVE", null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> adminService.bulkUpdateApplications(
+            new BulkApplicationActionRequest(ids, "UPDATE_STATUS", null, null, null, null)));
+    }
+
+    @Test
+    void getUsersAfterCapsPageSizeAndReturnsCursor() {
+        List<AdminUserDto> users = new ArrayList<>();
+        for (int i = 0; i < 201; i++) {
+            users.add(new AdminUserDto(UUID.randomUUID(), "User " + i, null, null, null, true, LocalDateTime.now()));
+        }
+        when(profileRepository.findDirectoryAfter(eq("jo"), isNull(), eq(201))).thenReturn(users);
+
+        CursorPage<AdminUserDto> page = adminService.getUsersAfter(5000, "jo", null);
+
+        assertEquals(200, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertEquals(users.get(199).getId(), KeysetCursor.decode(page.getNextCursor()).getId());
+        verify(profileRepository, never()).findAll();
+    }
+
+    @Test
+    void getUsersAfterReturnsAtLeastOneUser() {
+        List<AdminUserDto> users = List.of(
+            new AdminUserDto(UUID.randomUUID(), "Jo", null, null, null, true, LocalDateTime.now()),
+            new AdminUserDto(UUID.randomUUID(), "Joe", null, null, null, true, LocalDateTime.now()));
+        when(profileRepository.findDirectoryAfter(eq("jo"), isNull(), eq(2))).thenReturn(users);
+
+        CursorPage<AdminUserDto> page = adminService.getUsersAfter(0, "jo", null);
+
+        assertEquals(List.of(users.get(0)), page.getContent());
+        assertEquals(users.get(0).getId(), KeysetCursor.decode(page.getNextCursor()).getId());
+    }
+
+    @Test
+    void getAuditLogDefaultsUnscopedQueriesToRecentWindow() {
+        LocalDateTime to = LocalDateTime.of(2026, 6, 30, 0, 0);
+        when(adminActionRepository.findAuditLogAfter(any(AdminActionFilter.class), isNull(), eq(51)))
+            .thenReturn(List.of());
+
+        adminService.getAuditLog(null, null, "APPROVE", null, to, 50, null);
+
+        ArgumentCaptor<AdminActionFilter> filter = ArgumentCaptor.forClass(AdminActionFilter.class);
+        verify(adminActionRepository).findAuditLogAfter(filter.capture(), isNull(), eq(51));
+        assertEquals(to.minusDays(30), filter.getValue().getFrom());
+        assertEquals("APPROVE", filter.getValue().getActionType());
+    }
+
+    @Test
+    void getAuditLogClampsPageSize() {
+        when(adminActionRepository.findAuditLogAfter(any(AdminActionFilter.class), isNull(), any(Integer.class)))
+            .thenReturn(List.of());
+
+        adminService.getAuditLog(null, null, null, null, null, 0, null);
+        adminService.getAuditLog(null, null, null, null, null, 100000, null);
+
+        verify(adminActionRepository).findAuditLogAfter(any(AdminActionFilter.class), isNull(), eq(2));
+        verify(adminActionRepository).findAuditLogAfter(any(AdminActionFilter.class), isNull(), eq(201));
+    }
+
+    @Test
+    void getAuditLogKeepsFullHistoryForOneApplication() {
+        UUID applicationId = UUID.randomUUID();
+        AdminActionDto newest = new AdminActionDto(UUID.randomUUID(), "APPROVE", applicationId, null, null, LocalDateTime.now());
+        AdminActionDto older = new AdminActionDto(UUID.randomUUID(), "VIEW", applicationId, null, null, LocalDateTime.now().minusDays(90));
+        when(adminActionRepository.findAuditLogAfter(any(AdminActionFilter.class), isNull(), eq(2)))
+            .thenReturn(List.of(newest, older));
+
+        CursorPage<AdminActionDto> page = adminService.getAuditLog(applicationId, null, null, null, null, 1, null);
+
+        assertEquals(List.of(newest), page.getContent());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals("timestamp", next.getSortField());
+        assertEquals(newest.getId(), next.getId());
+        ArgumentCaptor<AdminActionFilter> filter = ArgumentCaptor.forClass(AdminActionFilter.class);
+        verify(adminActionRepository).findAuditLogAfter(filter.capture(), isNull(), eq(2));
+        assertNull(filter.getValue().getFrom());
+    }
+
+    private Application application(String status) {
+        Application application = new Application();
+        application.setId(UUID.randomUUID());
+        application.setUserId(UUID.randomUUID());
+        application.setServiceType("Passport");
+        application.setReferenceNumber("PA" + application.getId().toString().substring(0, 4));
+        application.setStatus(status);
+        return application;
+    }
+
+    private AdminApplicationRow row(String applicantName) {
+        AdminApplicationRow row = new AdminApplicationRow();
+        row.setId(UUID.randomUUID());
+        row.setUserId(UUID.randomUUID());
+        row.setApplicantName(applicantName);
+        row.setServiceType("Passport");
+        row.setReferenceNumber("PA" + row.getId().toString().substring(0, 4));
+        row.setStatus("Under Review");
+        row.setCreatedAt(LocalDateTime.now());
+        return row;
+    }
+
+    private ApplicationDocument document(UUID applicationId) {
+        ApplicationDocument document = new ApplicationDocument();
+        document.setId(UUID.randomUUID());
+        document.setApplicationId(applicationId);
+        document.setDocumentType("photo");
+        document.setFileName("photo.jpg");
+        document.setFileUrl("photo.jpg");
+        return document;
+    }
+}
@@ -0,0 +1,67 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.itmda.egovsabackend.dto.AnalyticsBucketDto;
+import org.itmda.egovsabackend.entity.ApplicationDailyRollup;
+import org.itmda.egovsabackend.repository.ApplicationDailyRollupRepository;
+import org.itmda.egovsabackend.repository.RollupWatermarkRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 5);
+
+    @Mock
+    private ApplicationDailyRollupRepository rollupRepository;
+
+    @Mock
+    private RollupWatermarkRepository watermarkRepository;
+
+    @InjectMocks
+    private AnalyticsService analyticsService;
+
+    @Test
+    void weeklyAnalyticsFoldsDailyRollupsPerServiceType() {
+        when(rollupRepository.findByBucketDateBetweenOrderByBucketDateAsc(MONDAY, MONDAY.plusDays(13)))
+            .thenReturn(List.of(
+                new ApplicationDailyRollup(MONDAY, "Passport", 3L, 1L, 0L, 86400L * 10),
+                new ApplicationDailyRollup(MONDAY.plusDays(2), "Passport", 2L, 1L, 1L, 86400L * 20),
+                new ApplicationDailyRollup(MONDAY.plusDays(2), "Smart ID", 5L, 0L, 0L, 0L),
+                new ApplicationDailyRollup(MONDAY.plusDays(8), "Passport", 1L, 0L, 0L, 0L)));
+
+        List<AnalyticsBucketDto> buckets = analyticsService.getApplicationAnalytics(
+            MONDAY, MONDAY.plusDays(13), "week", null);
+
+        assertEquals(3, buckets.size());
+        AnalyticsBucketDto passportWeek1 = buckets.get(0);
+        assertEquals(MONDAY, passportWeek1.getBucketStart());
+        assertEquals("Passport", passportWeek1.getServiceType());
+        assertEquals(5, passportWeek1.getSubmitted());
+        assertEquals(2, passportWeek1.getCompleted());
+        assertEquals(1, passportWeek1.getRejected());
+        assertEquals(15.0, passportWeek1.getAverageCompletionDays());
+        assertEquals("Smart ID", buckets.get(1).getServiceType());
+        assertNull(buckets.get(1).getAverageCompletionDays());
+        assertEquals(MONDAY.plusDays(7), buckets.get(2).getBucketStart());
+    }
+
+    @Test
+    void analyticsRejectsInvalidRanges() {
+        assertThrows(IllegalArgumentException.class,
+            () -> analyticsService.getApplicationAnalytics(MONDAY, MONDAY.minusDays(1), "day", null));
+        assertThrows(IllegalArgumentException.class,
+            () -> analyticsService.getApplicationAnalytics(MONDAY, MONDAY, "month", null));
+    }
+}
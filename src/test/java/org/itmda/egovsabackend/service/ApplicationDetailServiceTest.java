@@ -0,0 +1,84 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.itmda.egovsabackend.dto.ApplicationDetailDto;
+import org.itmda.egovsabackend.dto.ApplicationDocumentDto;
+import org.itmda.egovsabackend.dto.ApplicationDto;
+import org.itmda.egovsabackend.dto.ApplicationStatusHistoryDto;
+import org.itmda.egovsabackend.dto.AppointmentDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+class ApplicationDetailServiceTest {
+
+    private final ApplicationService applicationService = mock(ApplicationService.class);
+    private final AppointmentService appointmentService = mock(AppointmentService.class);
+    private final ApplicationDetailService detailService =
+        new ApplicationDetailService(applicationService, appointmentService, 2, 5000);
+
+    @AfterEach
+    void tearDown() {
+        detailService.shutdown();
+    }
+
+    @Test
+    void getApplicationDetailAssemblesAllParts() {
+        UUID id = UUID.randomUUID();
+        ApplicationDto application = new ApplicationDto();
+        application.setId(id);
+        ApplicationDocumentDto document = new ApplicationDocumentDto();
+        ApplicationStatusHistoryDto history = new ApplicationStatusHistoryDto();
+        AppointmentDto appointment = new AppointmentDto();
+        when(applicationService.getApplicationSummary(id)).thenReturn(application);
+        when(applicationService.getApplicationDocuments(id)).thenReturn(List.of(document));
+        when(applicationService.getStatusHistory(id)).thenReturn(List.of(history));
+        when(appointmentService.getApplicationAppointments(id)).thenReturn(List.of(appointment));
+
+        ApplicationDetailDto detail = detailService.getApplicationDetail(id);
+
+        assertEquals(id, detail.getApplication().getId());
+        assertEquals(List.of(document), detail.getApplication().getDocuments());
+        assertEquals(List.of(history), detail.getStatusHistory());
+        assertEquals(List.of(appointment), detail.getAppointments());
+    }
+
+    @Test
+    void getApplicationDetailStaysWithinQueryBudget() {
+        UUID id = UUID.randomUUID();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Answer<Object> slowQuery = invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return invocation.getMethod().getReturnType() == List.class ? List.of() : new ApplicationDto();
+        };
+        when(applicationService.getApplicationSummary(id)).thenAnswer(slowQuery);
+        when(applicationService.getApplicationDocuments(id)).thenAnswer(slowQuery);
+        when(applicationService.getStatusHistory(id)).thenAnswer(slowQuery);
+        when(appointmentService.getApplicationAppointments(id)).thenAnswer(slowQuery);
+
+        detailService.getApplicationDetail(id);
+
+        assertTrue(maxRunning.get() <= 2, "ran " + maxRunning.get() + " queries at once");
+    }
+
+    @Test
+    void getApplicationDetailPropagatesNotFound() {
+        UUID id = UUID.randomUUID();
+        when(applicationService.getApplicationSummary(id)).thenThrow(new RuntimeException("Application not found"));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> detailService.getApplicationDetail(id));
+        assertEquals("Application not found", e.getMessage());
+    }
+}
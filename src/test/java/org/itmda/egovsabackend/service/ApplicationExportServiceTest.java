@@ -0,0 +1,106 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+class ApplicationExportServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ApplicationExportService exportService = new ApplicationExportService(jdbcTemplate, 2, 60000);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportReadsKeysetChunksUntilAShortOne() {
+        ApplicationExportService.ExportRow first = row("PA00000001", "Thandi");
+        ApplicationExportService.ExportRow second = row("PA00000002", "Sipho");
+        ApplicationExportService.ExportRow third = row("PA00000003", "Lerato");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+            .thenReturn(List.of(first, second), List.of(third));
+
+        String csv = export("csv", "Submitted");
+
+        String[] lines = csv.split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("id,reference_number,"));
+        assertTrue(lines[3].contains("PA00000003"));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).query(sql.capture(), any(RowMapper.class), params.capture());
+        assertFalse(sql.getAllValues().get(0).contains("(a.created_at, a.id) >"));
+        assertArrayEquals(new Object[] {"Submitted", 2}, params.getAllValues().get(0));
+        assertTrue(sql.getAllValues().get(1).contains("(a.created_at, a.id) > (?, ?)"));
+        assertArrayEquals(new Object[] {"Submitted", second.createdAt(), second.id(), 2}, params.getAllValues().get(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportNeutralisesSpreadsheetFormulas() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+            .thenReturn(List.of(row("PA00000001", "=HYPERLINK(\"http://x\",\"a\")"), row("PA00000002", "@SUM(A1)")),
+                List.of(row("PA00000003", "-2+3"), row("PA00000004", "Jo-Anne")), List.of());
+
+        String csv = export("csv", null);
+
+        assertTrue(csv.contains(",\"'=HYPERLINK(\"\"http://x\"\",\"\"a\"\")\","));
+        assertTrue(csv.contains(",'@SUM(A1),"));
+        assertTrue(csv.contains(",'-2+3,"));
+        assertTrue(csv.contains(",Jo-Anne,"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ndjsonKeepsValuesAsTheyAre() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+            .thenReturn(List.of(row("PA00000001", "=Thandi")));
+
+        String ndjson = export("ndjson", null);
+
+        assertTrue(ndjson.startsWith("{\"id\":"));
+        assertTrue(ndjson.contains("\"applicant_name\":\"=Thandi\""));
+        assertTrue(ndjson.endsWith("}\n"));
+    }
+
+    @Test
+    void exportRejectsUnknownFormat() {
+        assertThrows(IllegalArgumentException.class,
+            () -> exportService.export(new ByteArrayOutputStream(), "xlsx", null, null));
+    }
+
+    private String export(String format, String status) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(out, format, status, null);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private ApplicationExportService.ExportRow row(String referenceNumber, String applicantName) {
+        UUID id = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.now();
+        String[] values = new String[16];
+        values[0] = id.toString();
+        values[1] = referenceNumber;
+        values[6] = applicantName;
+        values[13] = createdAt.toString();
+        return new ApplicationExportService.ExportRow(createdAt, id, values);
+    }
+}
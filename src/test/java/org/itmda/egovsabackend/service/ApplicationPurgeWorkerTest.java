@@ -0,0 +1,98 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.repository.ApplicationPurgeRepository;
+import org.itmda.egovsabackend.repository.ApplicationPurgeRepository.PurgeResult;
+import org.itmda.egovsabackend.repository.ApplicationPurgeRepository.QueuedFile;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ApplicationPurgeWorkerTest {
+    
+    private final ApplicationPurgeRepository purgeRepository = mock(ApplicationPurgeRepository.class);
+    private final StorageService storageService = mock(StorageService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ApplicationPurgeWorker worker = new ApplicationPurgeWorker(
+        purgeRepository, storageService, mock(PlatformTransactionManager.class), meterRegistry, 10, 2, 5);
+    
+    @Test
+    void chunkQueuesFilesAndDeletesRowsWithoutCallingStorage() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(purgeRepository.lockDeletedApplications(any(), anyInt())).thenReturn(ids);
+        when(purgeRepository.deleteApplications(ids)).thenReturn(new PurgeResult(2, 3, 4, 1, 2));
+        
+        assertEquals(2, worker.purgeChunk());
+        
+        InOrder order = inOrder(purgeRepository);
+        order.verify(purgeRepository).queueDocumentFiles(ids);
+        order.verify(purgeRepository).deleteApplications(ids);
+        verify(storageService, never()).deleteFiles(anyList());
+        assertEquals(2, meterRegistry.counter("applications.purge.applications").count());
+        assertEquals(3, meterRegistry.counter("applications.purge.documents").count());
+        assertEquals(7, meterRegistry.counter("applications.purge.related.rows").count());
+    }
+    
+    @Test
+    void runDeletesQueuedFilesAfterThePurgeCommits() {
+        when(purgeRepository.lockDeletedApplications(any(), anyInt())).thenReturn(List.of());
+        when(purgeRepository.findQueuedFiles(2)).thenReturn(
+            List.of(new QueuedFile(1, "a.pdf"), new QueuedFile(2, "b.pdf")),
+            List.of(new QueuedFile(3, "c.pdf")));
+        
+        worker.purge();
+        
+        InOrder order = inOrder(storageService, purgeRepository);
+        order.verify(purgeRepository).lockDeletedApplications(any(), anyInt());
+        order.verify(storageService).deleteFiles(List.of("a.pdf", "b.pdf"));
+        order.verify(purgeRepository).deleteQueuedFiles(List.of(1L, 2L));
+        order.verify(storageService).deleteFiles(List.of("c.pdf"));
+        order.verify(purgeRepository).deleteQueuedFiles(List.of(3L));
+    }
+    
+    @Test
+    void storageFailureKeepsFilesQueuedForTheNextRun() {
+        List<UUID> ids = List.of(UUID.randomUUID());
+        when(purgeRepository.lockDeletedApplications(any(), anyInt())).thenReturn(ids, List.of());
+        when(purgeRepository.deleteApplications(ids)).thenReturn(new PurgeResult(1, 1, 0, 0, 0));
+        when(purgeRepository.findQueuedFiles(anyInt())).thenReturn(List.of(new QueuedFile(1, "a.pdf")));
+        doThrow(new RuntimeException("storage unavailable")).when(storageService).deleteFiles(anyList());
+        
+        worker.purge();
+        
+        verify(purgeRepository).deleteApplications(ids);
+        verify(purgeRepository, never()).deleteQueuedFiles(anyList());
+        assertEquals(1, meterRegistry.counter("applications.purge.storage.failures").count());
+    }
+    
+    @Test
+    void runStopsOnceTheBacklogIsDrained() {
+        List<UUID> fullChunk = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> lastChunk = List.of(UUID.randomUUID());
+        when(purgeRepository.lockDeletedApplications(any(), anyInt())).thenReturn(fullChunk, lastChunk);
+        when(purgeRepository.deleteApplications(fullChunk)).thenReturn(new PurgeResult(2, 0, 0, 0, 0));
+        when(purgeRepository.deleteApplications(lastChunk)).thenReturn(new PurgeResult(1, 0, 0, 0, 0));
+        when(purgeRepository.countDeleted()).thenReturn(0L);
+        
+        worker.purge();
+        
+        verify(purgeRepository, times(2)).lockDeletedApplications(any(), anyInt());
+        assertEquals(0, meterRegistry.get("applications.purge.backlog").gauge().value());
+    }
+}
@@ -0,0 +1,170 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.dto.ApplicationDocumentDto;
+import org.itmda.egovsabackend.dto.ApplicationSummaryDto;
+import org.itmda.egovsabackend.dto.CreateApplicationRequest;
+import org.itmda.egovsabackend.dto.CursorPage;
+import org.itmda.egovsabackend.dto.KeysetCursor;
+import org.itmda.egovsabackend.entity.Application;
+import org.itmda.egovsabackend.exception.ApplicationConflictException;
+import org.itmda.egovsabackend.repository.ApplicationDocumentBatchRepository;
+import org.itmda.egovsabackend.repository.ApplicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationServiceTest {
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private ServiceRulesRegistry serviceRulesRegistry;
+
+    @Mock
+    private ApplicationDocumentBatchRepository documentBatchRepository;
+
+    @Mock
+    private ReferenceNumberAllocator referenceNumberAllocator;
+
+    @InjectMocks
+    private ApplicationService applicationService;
+
+    @BeforeEach
+    void useRealCalendar() {
+        // A real calendar rather than a mock: inline-mocking BusinessDayCalendar instruments the class
+        // for the whole JVM and breaks BusinessDayCalendarTest's no-allocation check
+        ReflectionTestUtils.setField(applicationService, "businessDayCalendar", new BusinessDayCalendar(
+            new ClassPathResource("calendar/za-public-holidays.txt"), 2000, 2100));
+    }
+
+    @Test
+    void getUserApplicationsAfterCapsPageSizeAndReturnsCursor() {
+        UUID userId = UUID.randomUUID();
+        List<ApplicationSummaryDto> rows = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            rows.add(summary(LocalDateTime.now().minusMinutes(i)));
+        }
+        when(applicationRepository.findUserSummariesAfter(eq(userId), eq(List.of("Completed")), isNull(), eq(101)))
+            .thenReturn(rows);
+
+        CursorPage<ApplicationSummaryDto> page = applicationService.getUserApplicationsAfter(
+            userId, List.of("Completed"), 5000, null);
+
+        assertEquals(100, page.getContent().size());
+        assertTrue(page.isHasNext());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(rows.get(99).getId(), next.getId());
+        assertEquals(rows.get(99).getCreatedAt(), next.getSortValue());
+    }
+
+    @Test
+    void getUserApplicationsAfterSeeksFromCursor() {
+        UUID userId = UUID.randomUUID();
+        KeysetCursor cursor = new KeysetCursor("createdAt", LocalDateTime.now(), UUID.randomUUID());
+        when(applicationRepository.findUserSummariesAfter(eq(userId), isNull(), eq(cursor), eq(21)))
+            .thenReturn(List.of(summary(LocalDateTime.now().minusDays(1))));
+
+        CursorPage<ApplicationSummaryDto> page = applicationService.getUserApplicationsAfter(
+            userId, null, 20, cursor.encode());
+
+        assertEquals(1, page.getContent().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getUserApplicationsAfterRejectsForeignCursor() {
+        String cursor = new KeysetCursor("updatedAt", LocalDateTime.now(), UUID.randomUUID()).encode();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> applicationService.getUserApplicationsAfter(UUID.randomUUID(), null, 20, cursor));
+    }
+
+    @Test
+    void addDocumentsInsertsTheWholeBatchAtOnce() {
+        UUID applicationId = UUID.randomUUID();
+        when(applicationRepository.findServiceTypeById(applicationId)).thenReturn(Optional.of("Passport Application"));
+        when(serviceRulesRegistry.getRule("Passport Application")).thenReturn(passportRule());
+
+        List<ApplicationDocumentDto> saved = applicationService.addDocuments(applicationId,
+            List.of(document("id_document"), document("photo")));
+
+        assertEquals(2, saved.size());
+        assertEquals(applicationId, saved.get(0).getApplicationId());
+        assertEquals("photo", saved.get(1).getDocumentType());
+        verify(documentBatchRepository).insertDocuments(anyList(), any());
+    }
+
+    @Test
+    void addDocumentsRejectsTypesTheServiceDoesNotRequire() {
+        UUID applicationId = UUID.randomUUID();
+        when(applicationRepository.findServiceTypeById(applicationId)).thenReturn(Optional.of("Passport Application"));
+        when(serviceRulesRegistry.getRule("Passport Application")).thenReturn(passportRule());
+
+        assertThrows(IllegalArgumentException.class, () -> applicationService.addDocuments(applicationId,
+            List.of(document("id_document"), document("payslip"))));
+        verify(documentBatchRepository, never()).insertDocuments(anyList(), any());
+    }
+
+    @Test
+    void createApplicationReportsASecondOpenApplicationAsConflict() {
+        CreateApplicationRequest request = new CreateApplicationRequest();
+        request.setServiceType("Passport Application");
+        when(serviceRulesRegistry.getRule("Passport Application")).thenReturn(passportRule());
+        when(referenceNumberAllocator.allocate("PA")).thenReturn("PA00000012");
+        when(applicationRepository.saveAndFlush(any(Application.class))).thenThrow(new DataIntegrityViolationException(
+            "duplicate key value violates unique constraint \"uq_applications_user_service_open\""));
+
+        assertThrows(ApplicationConflictException.class,
+            () -> applicationService.createApplication(UUID.randomUUID(), request));
+    }
+
+    private ServiceRulesRegistry.ServiceRule passportRule() {
+        return new ServiceRulesRegistry.ServiceRule("Passport Application", "PA", "Submitted", 21,
+            Set.of("id_document", "photo"), true);
+    }
+
+    private ApplicationDocumentDto document(String type) {
+        ApplicationDocumentDto document = new ApplicationDocumentDto();
+        document.setDocumentType(type);
+        document.setFileName(type + ".pdf");
+        document.setFileUrl("https://storage.example/" + type + ".pdf");
+        return document;
+    }
+
+    private ApplicationSummaryDto summary(LocalDateTime createdAt) {
+        ApplicationSummaryDto summary = new ApplicationSummaryDto();
+        summary.setId(UUID.randomUUID());
+        summary.setStatus("Completed");
+        summary.setCreatedAt(createdAt);
+        return summary;
+    }
+}
@@ -0,0 +1,34 @@
+package org.itmda.egovsabackend.service;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+import org.itmda.egovsabackend.repository.ApplicationStatusCountRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class ApplicationStatusCounterServiceTest {
+
+    private final ApplicationStatusCountRepository repository = mock(ApplicationStatusCountRepository.class);
+    private final ApplicationStatusCounterService service = new ApplicationStatusCounterService(repository);
+
+    @Test
+    void startupRebuildsCountersEvenWhenRowsAlreadyExist() {
+        service.afterSingletonsInstantiated();
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).lockTable();
+        order.verify(repository).upsertFromApplications();
+        order.verify(repository).deleteStatusesWithoutApplications();
+    }
+
+    @Test
+    void reconcileOverwritesDriftedCountersUnderTheTableLock() {
+        service.reconcile();
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).lockTable();
+        order.verify(repository).upsertFromApplications();
+        order.verify(repository).deleteStatusesWithoutApplications();
+    }
+}
@@ -0,0 +1,115 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.dto.ApplicationStatusEventDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ApplicationStatusStreamServiceTest {
+    
+    // replay-size 3, max-buffered-users 2, max-streams-per-user 2
+    private final ApplicationStatusStreamService streamService =
+        new ApplicationStatusStreamService(new SimpleMeterRegistry(), 60000, 3, 2, 2, 100);
+    
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        streamService.shutdown();
+    }
+    
+    @Test
+    void resumeReturnsOnlyEventsAfterTheLastSeenId() {
+        UUID userId = UUID.randomUUID();
+        long seen = publish(userId, "Under Review").getEventId();
+        publish(userId, "Pending Payment");
+        publish(userId, "Completed");
+        
+        List<ApplicationStatusEventDto> missed = streamService.eventsAfter(userId, seen);
+        
+        assertEquals(List.of("Pending Payment", "Completed"),
+            missed.stream().map(ApplicationStatusEventDto::getStatus).toList());
+        assertTrue(missed.get(0).getEventId() < missed.get(1).getEventId());
+    }
+    
+    @Test
+    void resumeFromAnEventNoLongerHeldAsksForResync() {
+        UUID userId = UUID.randomUUID();
+        long first = publish(userId, "Under Review").getEventId();
+        for (int i = 0; i < 3; i++) {
+            publish(userId, "Step " + i);
+        }
+        
+        assertNull(streamService.eventsAfter(userId, first - 1));
+        assertEquals(3, streamService.eventsAfter(userId, first).size());
+        assertNull(streamService.eventsAfter(UUID.randomUUID(), 1)); // id from an earlier run
+    }
+    
+    @Test
+    void usersEvictedFromTheBufferAskForResync() {
+        UUID evicted = UUID.randomUUID();
+        long seen = publish(evicted, "Under Review").getEventId() - 1;
+        publish(UUID.randomUUID(), "Under Review");
+        publish(UUID.randomUUID(), "Under Review");
+        
+        assertNull(streamService.eventsAfter(evicted, seen));
+    }
+    
+    @Test
+    void eventsArePublishedOnlyAfterCommit() {
+        UUID userId = UUID.randomUUID();
+        long before = publish(UUID.randomUUID(), "Under Review").getEventId();
+        TransactionSynchronizationManager.initSynchronization();
+        
+        streamService.publishAfterCommit(userId, UUID.randomUUID(), "PA00000012", "Under Review", "Completed", "Done");
+        assertTrue(streamService.eventsAfter(userId, before).isEmpty());
+        
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals("Completed", streamService.eventsAfter(userId, before).get(0).getStatus());
+    }
+    
+    @Test
+    void newestStreamsWinWhenAUserOpensTooMany() {
+        UUID userId = UUID.randomUUID();
+        streamService.subscribe(userId, null);
+        streamService.subscribe(userId, null);
+        streamService.subscribe(userId, null);
+        
+        assertEquals(2, streamService.openStreamCount());
+        assertEquals(2, streamService.streamCount(userId));
+    }
+    
+    @Test
+    void newStreamStaysRegisteredWhenItEvictsTheOnlyOpenOne() {
+        ApplicationStatusStreamService singleStream =
+            new ApplicationStatusStreamService(new SimpleMeterRegistry(), 60000, 3, 2, 1, 100);
+        UUID userId = UUID.randomUUID();
+        try {
+            singleStream.subscribe(userId, null);
+            singleStream.subscribe(userId, null);
+            
+            assertEquals(1, singleStream.openStreamCount());
+            assertEquals(1, singleStream.streamCount(userId));
+        } finally {
+            singleStream.shutdown();
+        }
+    }
+    
+    private ApplicationStatusEventDto publish(UUID userId, String status) {
+        ApplicationStatusEventDto event = new ApplicationStatusEventDto(
+            0, UUID.randomUUID(), "PA00000012", "In Progress", status, status, null);
+        streamService.publish(userId, event);
+        return event;
+    }
+}
@@ -0,0 +1,105 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.itmda.egovsabackend.dto.ApplicationTrackingDto;
+import org.itmda.egovsabackend.repository.ApplicationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+class ApplicationTrackingServiceTest {
+    
+    private final ApplicationRepository applicationRepository = mock(ApplicationRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ApplicationTrackingService trackingService =
+        new ApplicationTrackingService(applicationRepository, jdbcTemplate, 1000, 0.01, 10, 60);
+    
+    @Test
+    void unknownReferencesAreRejectedWithoutAQuery() throws Exception {
+        buildWith("PA00000012", "ID00000023");
+        
+        assertTrue(trackingService.track("PA99999999").isEmpty());
+        assertTrue(trackingService.track("x".repeat(100)).isEmpty());
+        verify(applicationRepository, never()).findTrackingByReferenceNumber(anyString());
+    }
+    
+    @Test
+    void issuedReferencesAreLookedUpOnceThenCached() throws Exception {
+        buildWith("PA00000012");
+        ApplicationTrackingDto tracking = new ApplicationTrackingDto("PA00000012", "Under Review", "Review", LocalDateTime.now());
+        when(applicationRepository.findTrackingByReferenceNumber("PA00000012")).thenReturn(Optional.of(tracking));
+        
+        assertEquals(tracking, trackingService.track("PA00000012").orElseThrow());
+        assertEquals(tracking, trackingService.track("PA00000012").orElseThrow());
+        verify(applicationRepository, times(1)).findTrackingByReferenceNumber("PA00000012");
+    }
+    
+    @Test
+    void newlyIssuedReferencesPassTheFilter() throws Exception {
+        buildWith();
+        when(applicationRepository.findTrackingByReferenceNumber("VR00000034")).thenReturn(Optional.empty());
+        
+        trackingService.recordIssued("VR00000034");
+        trackingService.track("VR00000034");
+        
+        verify(applicationRepository).findTrackingByReferenceNumber("VR00000034");
+    }
+    
+    @Test
+    void lookupsGoToTheDatabaseUntilTheFilterIsBuilt() {
+        when(applicationRepository.findTrackingByReferenceNumber("PA00000012")).thenReturn(Optional.empty());
+        
+        trackingService.track("PA00000012");
+        
+        verify(applicationRepository).findTrackingByReferenceNumber("PA00000012");
+    }
+    
+    @Test
+    void bloomFilterKeepsItsFalsePositiveRate() {
+        ApplicationTrackingService.BloomFilter filter = new ApplicationTrackingService.BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(String.format("PA%08d", i));
+        }
+        
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(String.format("PA%08d", i)));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(String.format("ID%08d", i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives); // 1% expected
+    }
+    
+    private void buildWith(String... references) throws Exception {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn((long) references.length);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (String reference : List.of(references)) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString(1)).thenReturn(reference);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(eq("SELECT reference_number FROM applications"), any(RowCallbackHandler.class));
+        trackingService.rebuild();
+    }
+}
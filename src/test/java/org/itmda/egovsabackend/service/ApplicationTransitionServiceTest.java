@@ -0,0 +1,143 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.entity.Application;
+import org.itmda.egovsabackend.exception.ApplicationConflictException;
+import org.itmda.egovsabackend.repository.ApplicationRepository;
+import org.itmda.egovsabackend.repository.ApplicationStatusUpdateRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationTransitionServiceTest {
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private ApplicationStatusCounterService statusCounterService;
+
+    @Mock
+    private ApplicationStatusStreamService statusStreamService;
+
+    @InjectMocks
+    private ApplicationTransitionService transitionService;
+
+    @Test
+    void transitionWithExpectedStatusIsASingleConditionalUpdate() {
+        UUID id = UUID.randomUUID();
+        Application updated = new Application();
+        updated.setId(id);
+        updated.setStatus("Completed");
+        when(applicationRepository.compareAndSetStatus(eq(id), isNull(), eq("Under Review"), eq(3L), eq("Completed"),
+                eq("Approved"), any(), any())).thenReturn(Optional.of(updated));
+
+        ApplicationTransitionService.Transition transition = transitionService.transition(
+            id, null, "Under Review", 3L, "Completed", "Approved", null);
+
+        assertEquals("Under Review", transition.oldStatus());
+        assertSame(updated, transition.application());
+        verify(applicationRepository, never()).findById(any());
+        verify(statusCounterService).recordTransition("Under Review", "Completed");
+    }
+
+    @Test
+    void transitionWithoutExpectationReturnsReplacedStatusFromOneUpdate() {
+        UUID id = UUID.randomUUID();
+        Application updated = new Application();
+        updated.setId(id);
+        updated.setStatus("Rejected");
+        when(applicationRepository.setStatus(eq(id), isNull(), isNull(), eq("Rejected"), eq("Rejected"), any(), any()))
+            .thenReturn(Optional.of(new ApplicationStatusUpdateRepository.StatusUpdate("Under Review", updated)));
+
+        ApplicationTransitionService.Transition transition = transitionService.transition(
+            id, null, null, null, "Rejected", "Rejected", null);
+
+        assertEquals("Under Review", transition.oldStatus());
+        assertSame(updated, transition.application());
+        verify(applicationRepository, never()).findById(any());
+        verify(statusCounterService).recordTransition("Under Review", "Rejected");
+    }
+
+    @Test
+    void transitionThrowsConflictWhenStatusChangedConcurrently() {
+        UUID id = UUID.randomUUID();
+        when(applicationRepository.compareAndSetStatus(eq(id), isNull(), eq("Under Review"), isNull(), eq("Rejected"),
+                eq("Rejected"), any(), any())).thenReturn(Optional.empty());
+        Application current = new Application();
+        current.setId(id);
+        current.setStatus("Completed");
+        when(applicationRepository.findById(id)).thenReturn(Optional.of(current));
+
+        ApplicationConflictException e = assertThrows(ApplicationConflictException.class,
+            () -> transitionService.transition(id, null, "Under Review", null, "Rejected", "Rejected", null));
+        assertTrue(e.getMessage().contains("no longer in status 'Under Review'"));
+        verify(statusCounterService, never()).recordTransition(anyString(), anyString());
+    }
+
+    @Test
+    void transitionThrowsConflictWhenAnotherReviewerHoldsTheClaim() {
+        UUID id = UUID.randomUUID();
+        UUID reviewer = UUID.randomUUID();
+        UUID otherReviewer = UUID.randomUUID();
+        when(applicationRepository.compareAndSetStatus(eq(id), eq(reviewer), eq("Under Review"), isNull(),
+                eq("Completed"), eq("Approved"), any(), any())).thenReturn(Optional.empty());
+        Application current = new Application();
+        current.setId(id);
+        current.setStatus("Under Review");
+        current.setClaimedBy(otherReviewer);
+        current.setClaimExpiresAt(LocalDateTime.now().plusMinutes(10));
+        when(applicationRepository.findById(id)).thenReturn(Optional.of(current));
+
+        ApplicationConflictException e = assertThrows(ApplicationConflictException.class,
+            () -> transitionService.transition(id, reviewer, "Under Review", null, "Completed", "Approved", null));
+        assertTrue(e.getMessage().contains("claimed by reviewer " + otherReviewer));
+        verify(statusCounterService, never()).recordTransition(anyString(), anyString());
+    }
+
+    @Test
+    void expiredOrOwnClaimDoesNotCountAsClaimedByAnother() {
+        UUID reviewer = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        Application application = new Application();
+
+        assertFalse(ApplicationTransitionService.isClaimedByAnother(application, reviewer, now));
+        application.setClaimedBy(reviewer);
+        application.setClaimExpiresAt(now.plusMinutes(5));
+        assertFalse(ApplicationTransitionService.isClaimedByAnother(application, reviewer, now));
+        assertTrue(ApplicationTransitionService.isClaimedByAnother(application, null, now));
+        application.setClaimExpiresAt(now.minusMinutes(1));
+        assertFalse(ApplicationTransitionService.isClaimedByAnother(application, null, now));
+    }
+
+    @Test
+    void transitionThrowsNotFoundForMissingApplication() {
+        UUID id = UUID.randomUUID();
+        when(applicationRepository.setStatus(eq(id), isNull(), isNull(), eq("Completed"), isNull(), any(), any()))
+            .thenReturn(Optional.empty());
+        when(applicationRepository.findById(id)).thenReturn(Optional.empty());
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> transitionService.transition(id, null, null, null, "Completed", null, null));
+        assertEquals("Application not found", e.getMessage());
+    }
+}
@@ -0,0 +1,79 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+class BusinessDayCalendarTest {
+
+    private final BusinessDayCalendar calendar = new BusinessDayCalendar(
+        new ClassPathResource("calendar/za-public-holidays.txt"), 2000, 2100);
+
+    @Test
+    void skipsWeekendsAndPublicHolidays() {
+        // 2025: Good Friday 18 April, Family Day 21 April
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 4, 18)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 4, 21)));
+        assertEquals(LocalDate.of(2025, 4, 22), calendar.addWorkingDays(LocalDate.of(2025, 4, 17), 1));
+        assertEquals(LocalDate.of(2025, 4, 24), calendar.addWorkingDays(LocalDate.of(2025, 4, 17), 3));
+    }
+
+    @Test
+    void sundayHolidayIsObservedOnMonday() {
+        // Freedom Day 2025 falls on a Sunday
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 4, 28)));
+        // One-off election day from the holidays file
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2024, 5, 29)));
+    }
+
+    @Test
+    void sundayChristmasIsObservedOnTheNextFreeDay() {
+        // Christmas 2022 is a Sunday and Monday is already Day of Goodwill
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2022, 12, 26)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2022, 12, 27)));
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2022, 12, 28)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2016, 12, 27)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2011, 12, 27)));
+    }
+
+    @Test
+    void zeroWorkingDaysRollsForwardToNextWorkingDay() {
+        LocalDate friday = LocalDate.of(2025, 10, 17);
+        assertEquals(friday, calendar.addWorkingDays(friday, 0));
+        assertEquals(LocalDate.of(2025, 10, 20), calendar.nextWorkingDay(LocalDate.of(2025, 10, 18)));
+        assertEquals(5, calendar.workingDaysBetween(friday, friday.plusDays(7)));
+    }
+
+    @Test
+    void spansYearBoundaries() {
+        // 25, 26 Dec and 1 Jan are holidays, 27/28 Dec a weekend
+        assertEquals(LocalDate.of(2026, 1, 2), calendar.addWorkingDays(LocalDate.of(2025, 12, 24), 4));
+        assertThrows(IllegalArgumentException.class, () -> calendar.addWorkingDays(LocalDate.of(2100, 12, 30), 5));
+    }
+
+    @Test
+    void epochDayLookupsDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long start = LocalDate.of(2025, 1, 1).toEpochDay();
+        long checksum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            checksum += calendar.addWorkingDays(start + i % 3000, i % 60);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            checksum += calendar.addWorkingDays(start + i % 3000, i % 60);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(checksum > 0);
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+}
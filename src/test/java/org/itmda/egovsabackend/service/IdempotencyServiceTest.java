@@ -0,0 +1,185 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.itmda.egovsabackend.dto.ApplicationDto;
+import org.itmda.egovsabackend.entity.IdempotencyRecord;
+import org.itmda.egovsabackend.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class IdempotencyServiceTest {
+    
+    private final IdempotencyRecordRepository recordRepository = mock(IdempotencyRecordRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+    private final IdempotencyService idempotencyService =
+        new IdempotencyService(recordRepository, objectMapper, transactionManager, 24, 60, 100);
+    
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+    }
+    
+    @Test
+    void repeatedRequestIsReplayedWithoutRunningTheActionAgain() {
+        when(recordRepository.claim(eq("scope"), eq("key-1"), anyString(), any(), any(), any())).thenReturn(1);
+        when(recordRepository.complete(eq("scope"), eq("key-1"), any(), eq(201), anyString())).thenReturn(1);
+        AtomicInteger calls = new AtomicInteger();
+        
+        ResponseEntity<ApplicationDto> first = idempotencyService.execute("scope", "key-1", "request",
+            ApplicationDto.class, () -> created(calls, "APP-1"));
+        ResponseEntity<ApplicationDto> second = idempotencyService.execute("scope", "key-1", "request",
+            ApplicationDto.class, () -> created(calls, "APP-2"));
+        
+        assertEquals(1, calls.get());
+        assertEquals(HttpStatus.CREATED, second.getStatusCode());
+        assertEquals("APP-1", second.getBody().getReferenceNumber());
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        verify(recordRepository).complete(eq("scope"), eq("key-1"), any(), eq(201), anyString());
+        verify(transactionManager).commit(transaction);
+        assertFalse(transaction.isRollbackOnly());
+    }
+    
+    @Test
+    void requestWhoseClaimWasTakenOverRollsBackInsteadOfCompleting() {
+        when(recordRepository.claim(anyString(), anyString(), anyString(), any(), any(), any())).thenReturn(1);
+        when(recordRepository.complete(anyString(), anyString(), any(), anyInt(), any())).thenReturn(0);
+        AtomicInteger calls = new AtomicInteger();
+        
+        ResponseEntity<ApplicationDto> response = idempotencyService.execute("scope", "key-1", "request",
+            ApplicationDto.class, () -> created(calls, "APP-1"));
+        
+        // The create ran in the same transaction as the completion, so it is rolled back with it
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertTrue(transaction.isRollbackOnly());
+        
+        // Nothing was cached: the next request goes back to the table
+        when(recordRepository.findById(any())).thenReturn(Optional.of(storedRecord("request", null, null)));
+        when(recordRepository.claim(anyString(), anyString(), anyString(), any(), any(), any())).thenReturn(0);
+        idempotencyService.execute("scope", "key-1", "request", ApplicationDto.class, () -> created(calls, "APP-2"));
+        assertEquals(1, calls.get());
+    }
+    
+    @Test
+    void responseStoredByAnotherNodeIsReplayedFromTheTable() {
+        IdempotencyRecord record = storedRecord("request", 201, "{\"referenceNumber\":\"APP-9\"}");
+        when(recordRepository.claim(anyString(), anyString(), anyString(), any(), any(), any())).thenReturn(0);
+        when(recordRepository.findById(any())).thenReturn(Optional.of(record));
+        AtomicInteger calls = new AtomicInteger();
+        
+        ResponseEntity<ApplicationDto> response = idempotencyService.execute("scope", "key-1", "request",
+            ApplicationDto.class, () -> created(calls, "APP-1"));
+        
+        assertEquals(0, calls.get());
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("APP-9", response.getBody().getReferenceNumber());
+    }
+    
+    @Test
+    void keyReusedForDifferentRequestIsRejected() {
+        IdempotencyRecord record = storedRecord("other request", 201, "{}");
+        when(recordRepository.claim(anyString(), anyString(), anyString(), any(), any(), any())).thenReturn(0);
+        when(recordRepository.findById(any())).thenReturn(Optional.of(record));
+        
+        ResponseEntity<ApplicationDto> response = idempotencyService.execute("scope", "key-1", "request",
+            ApplicationDto.class, () -> created(new AtomicInteger(), "APP-1"));
+        
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+    }
+    
+    @Test
+    void requestStillInFlightGetsConflict() {
+        IdempotencyRecord record = storedRecord("request", null, null);
+        when(recordRepository.claim(anyString(), anyString(), anyString(), any(), any(), any())).thenReturn(0);
+        when(recordRepository.findById(any())).thenReturn(Optional.of(record));
+        AtomicInteger calls = new AtomicInteger();
+        
+        ResponseEntity<ApplicationDto> response = idempotencyService.execute("scope", "key-1", "request",
+            ApplicationDto.class, () -> created(calls, "APP-1"));
+        
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(0, calls.get());
+    }
+    
+    @Test
+    void serverErrorReleasesTheClaimSoTheClientCanRetry() {
+        when(recordRepository.claim(anyString(), anyString(), anyString(), any(), any(), any())).thenReturn(1);
+        
+        ResponseEntity<ApplicationDto> response = idempotencyService.execute("scope", "key-1", "request",
+            ApplicationDto.class, () -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        verify(recordRepository).release(eq("scope"), eq("key-1"), any());
+        verify(recordRepository, never()).complete(anyString(), anyString(), any(), anyInt(), any());
+        assertTrue(transaction.isRollbackOnly());
+    }
+    
+    @Test
+    void requestWithoutKeyBypassesTheStore() {
+        AtomicInteger calls = new AtomicInteger();
+        
+        idempotencyService.execute("scope", null, "request", ApplicationDto.class, () -> created(calls, "APP-1"));
+        idempotencyService.execute("scope", " ", "request", ApplicationDto.class, () -> created(calls, "APP-1"));
+        
+        assertEquals(2, calls.get());
+        verify(recordRepository, never()).claim(any(), any(), any(), any(), any(), any());
+    }
+    
+    @Test
+    void listResponsesAreReplayedWithTheirElementType() {
+        when(recordRepository.claim(anyString(), anyString(), anyString(), any(), any(), any())).thenReturn(0);
+        when(recordRepository.findById(any())).thenReturn(Optional.of(
+            storedRecord("request", 201, "[{\"referenceNumber\":\"APP-1\"},{\"referenceNumber\":\"APP-2\"}]")));
+        AtomicInteger calls = new AtomicInteger();
+        
+        ResponseEntity<List<ApplicationDto>> response = idempotencyService.execute("scope", "key-1", "request",
+            new TypeReference<List<ApplicationDto>>() {}, () -> {
+                calls.incrementAndGet();
+                return ResponseEntity.status(HttpStatus.CREATED).body(List.of());
+            });
+        
+        assertEquals(0, calls.get());
+        assertEquals(List.of("APP-1", "APP-2"),
+            response.getBody().stream().map(ApplicationDto::getReferenceNumber).toList());
+    }
+    
+    private ResponseEntity<ApplicationDto> created(AtomicInteger calls, String referenceNumber) {
+        calls.incrementAndGet();
+        ApplicationDto dto = new ApplicationDto();
+        dto.setReferenceNumber(referenceNumber);
+        return ResponseEntity.status(HttpStatus.CREATED).body(dto);
+    }
+    
+    private IdempotencyRecord storedRecord(Object request, Integer statusCode, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        return new IdempotencyRecord("scope", "key-1", idempotencyService.hash(request), statusCode, body,
+            now, now.plusHours(24));
+    }
+}
@@ -0,0 +1,65 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    @Test
+    void markAllAsReadIsASingleUpdate() {
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.markAllAsRead(eq(userId), any())).thenReturn(3000);
+
+        assertEquals(3000, notificationService.markAllAsRead(userId));
+        verify(notificationRepository, never()).findByUserIdAndIsReadOrderByCreatedAtDesc(any(), any());
+        verify(notificationRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void markSelectedAsReadSkipsEmptyAndRejectsOversizedRequests() {
+        UUID userId = UUID.randomUUID();
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(notificationRepository.markAsRead(eq(userId), eq(ids), any())).thenReturn(2);
+
+        assertEquals(2, notificationService.markAsRead(userId, ids));
+        assertEquals(0, notificationService.markAsRead(userId, List.of()));
+        assertThrows(IllegalArgumentException.class,
+            () -> notificationService.markAsRead(userId, Collections.nCopies(1001, UUID.randomUUID())));
+        verify(notificationRepository).markAsRead(eq(userId), anyCollection(), any());
+    }
+
+    @Test
+    void deleteOlderThanRequiresACutoff() {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
+        when(notificationRepository.deleteOlderThan(userId, cutoff)).thenReturn(12);
+
+        assertEquals(12, notificationService.deleteOlderThan(userId, cutoff));
+        assertThrows(IllegalArgumentException.class, () -> notificationService.deleteOlderThan(userId, null));
+    }
+}
@@ -0,0 +1,88 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceNumberAllocatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ReferenceNumberAllocator allocator;
+
+    @Test
+    void allocateServesBlockFromMemoryAndAddsCheckDigit() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L, 101L);
+
+        List<String> references = new ArrayList<>();
+        for (int i = 0; i < ReferenceNumberAllocator.BLOCK_SIZE + 1; i++) {
+            references.add(allocator.allocate("PA"));
+        }
+
+        assertEquals("PA00000018", references.get(0));
+        assertEquals("PA00001016", references.get(ReferenceNumberAllocator.BLOCK_SIZE));
+        assertTrue(references.stream().allMatch(ReferenceNumberAllocator::hasValidCheckDigit));
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    void concurrentAllocationsNeverCollide() throws Exception {
+        AtomicLong sequence = new AtomicLong(1);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+            .thenAnswer(invocation -> sequence.getAndAdd(ReferenceNumberAllocator.BLOCK_SIZE));
+
+        Set<String> references = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                String prefix = t % 2 == 0 ? "ID" : "PA";
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        references.add(allocator.allocate(prefix));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(8000, references.size());
+    }
+
+    @Test
+    void checkDigitCatchesTypos() {
+        assertTrue(ReferenceNumberAllocator.hasValidCheckDigit("PA00000018"));
+        assertFalse(ReferenceNumberAllocator.hasValidCheckDigit("PA00000019"));
+        assertFalse(ReferenceNumberAllocator.hasValidCheckDigit("PA00000108"));
+        assertFalse(ReferenceNumberAllocator.hasValidCheckDigit("PA"));
+        assertFalse(ReferenceNumberAllocator.hasValidCheckDigit(null));
+    }
+}
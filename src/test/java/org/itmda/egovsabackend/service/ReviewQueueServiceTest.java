@@ -0,0 +1,110 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.itmda.egovsabackend.dto.ReviewClaimDto;
+import org.itmda.egovsabackend.entity.AdminAction;
+import org.itmda.egovsabackend.entity.Application;
+import org.itmda.egovsabackend.exception.ApplicationConflictException;
+import org.itmda.egovsabackend.repository.ApplicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewQueueServiceTest {
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private AdminAuditWriter auditWriter;
+
+    @InjectMocks
+    private ReviewQueueService reviewQueueService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reviewQueueService, "leaseMinutes", 15L);
+        ReflectionTestUtils.setField(reviewQueueService, "maxBatchSize", 50);
+    }
+
+    @Test
+    void claimNextCapsBatchAndRecordsEachClaim() {
+        UUID reviewerId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        Application newer = claimed(reviewerId, now.minusHours(1));
+        Application older = claimed(reviewerId, now.minusHours(5));
+        when(applicationRepository.claimForReview(eq("Under Review"), eq(reviewerId), any(), any(), eq(50)))
+            .thenReturn(List.of(newer, older));
+
+        List<ReviewClaimDto> claims = reviewQueueService.claimNext(reviewerId, 500);
+
+        assertEquals(List.of(older.getId(), newer.getId()),
+            claims.stream().map(ReviewClaimDto::getApplicationId).toList());
+        ArgumentCaptor<AdminAction> actions = ArgumentCaptor.forClass(AdminAction.class);
+        verify(auditWriter, times(2)).record(actions.capture());
+        assertEquals("CLAIM", actions.getValue().getActionType());
+    }
+
+    @Test
+    void claimNextRejectsInvalidRequests() {
+        assertThrows(IllegalArgumentException.class, () -> reviewQueueService.claimNext(null, 5));
+        assertThrows(IllegalArgumentException.class, () -> reviewQueueService.claimNext(UUID.randomUUID(), 0));
+        verify(applicationRepository, never()).claimForReview(any(), any(), any(), any(), eq(0));
+    }
+
+    @Test
+    void releaseFailsWhenReviewerDoesNotHoldClaim() {
+        UUID applicationId = UUID.randomUUID();
+        UUID reviewerId = UUID.randomUUID();
+        when(applicationRepository.releaseClaim(applicationId, reviewerId)).thenReturn(Optional.empty());
+
+        assertThrows(ApplicationConflictException.class, () -> reviewQueueService.release(applicationId, reviewerId));
+        verify(auditWriter, never()).record(any());
+    }
+
+    @Test
+    void releaseRecordsTheApplicantOnTheAuditAction() {
+        UUID applicationId = UUID.randomUUID();
+        UUID reviewerId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(applicationRepository.releaseClaim(applicationId, reviewerId)).thenReturn(Optional.of(userId));
+
+        reviewQueueService.release(applicationId, reviewerId);
+
+        ArgumentCaptor<AdminAction> action = ArgumentCaptor.forClass(AdminAction.class);
+        verify(auditWriter).record(action.capture());
+        assertEquals("RELEASE", action.getValue().getActionType());
+        assertEquals(applicationId, action.getValue().getApplicationId());
+        assertEquals(userId, action.getValue().getUserId());
+    }
+
+    private Application claimed(UUID reviewerId, LocalDateTime createdAt) {
+        Application application = new Application();
+        application.setId(UUID.randomUUID());
+        application.setUserId(UUID.randomUUID());
+        application.setStatus("Under Review");
+        application.setCreatedAt(createdAt);
+        application.setClaimedBy(reviewerId);
+        application.setClaimExpiresAt(LocalDateTime.now().plusMinutes(15));
+        return application;
+    }
+}
@@ -0,0 +1,115 @@
+package org.itmda.egovsabackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.itmda.egovsabackend.entity.Service;
+import org.itmda.egovsabackend.repository.ServiceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceRulesRegistryTest {
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ServiceRulesRegistry registry;
+
+    @Test
+    void getRuleMatchesServiceNamesCaseInsensitively() {
+        when(serviceRepository.findAll()).thenReturn(List.of(
+            service("Passport Application", "PA", "Application Review", 21),
+            service("Birth Certificate", null, null, null)));
+        registry.refresh();
+
+        ServiceRulesRegistry.ServiceRule passport = registry.getRule("Passport Application");
+        assertEquals("PA", passport.referencePrefix());
+        assertEquals("Application Review", passport.initialStep());
+        assertEquals(21, passport.processingTimeDays());
+        assertSame(passport, registry.getRule("PASSPORT application"));
+
+        ServiceRulesRegistry.ServiceRule birth = registry.getRule("birth certificate");
+        assertEquals("APP", birth.referencePrefix());
+        assertEquals("Submitted", birth.initialStep());
+        assertEquals(14, birth.processingTimeDays());
+    }
+
+    @Test
+    void getRuleFallsBackToDefaultsForUnknownTypes() {
+        when(serviceRepository.findAll()).thenReturn(List.of());
+        registry.refresh();
+
+        assertSame(ServiceRulesRegistry.DEFAULT_RULE, registry.getRule("Fishing Permit"));
+        assertSame(ServiceRulesRegistry.DEFAULT_RULE, registry.getRule(null));
+    }
+
+    @Test
+    void singleOpenApplicationIsOnlyEnforcedWhenEnabled() {
+        Service smartId = service("Smart ID", "ID", null, null);
+        smartId.setSingleOpenApplication(true);
+        Service permit = service("Building Permit", null, null, null);
+        permit.setSingleOpenApplication(false);
+        when(serviceRepository.findAll()).thenReturn(List.of(
+            smartId, permit, service("Birth Certificate", "BC", null, null)));
+        registry.refresh();
+
+        assertTrue(registry.getRule("smart id").singleOpenApplication());
+        assertFalse(registry.getRule("building permit").singleOpenApplication());
+        assertFalse(registry.getRule("birth certificate").singleOpenApplication());
+        assertFalse(ServiceRulesRegistry.DEFAULT_RULE.singleOpenApplication());
+    }
+
+    @Test
+    void refreshPicksUpNewServices() {
+        when(serviceRepository.findAll())
+            .thenReturn(List.of())
+            .thenReturn(List.of(service("Vehicle Registration", "VR", "Submitted", 5)));
+        registry.refresh();
+        registry.refreshAfterCommit(); // no transaction: reloads immediately
+
+        assertEquals("VR", registry.getRule("vehicle registration").referencePrefix());
+    }
+
+    @Test
+    void requiredDocumentsAreParsedFromStringsAndObjects() {
+        Service passport = service("Passport Application", "PA", null, 21);
+        passport.setRequiredDocuments("[\"ID_Document\", {\"documentType\": \"photo\"}, {\"type\": \"proof_of_address\"}]");
+        Service broken = service("Birth Certificate", "BC", null, 7);
+        broken.setRequiredDocuments("not json");
+        when(serviceRepository.findAll()).thenReturn(List.of(passport, broken));
+        registry.refresh();
+
+        ServiceRulesRegistry.ServiceRule rule = registry.getRule("Passport Application");
+        assertEquals(Set.of("id_document", "photo", "proof_of_address"), rule.requiredDocuments());
+        assertTrue(rule.acceptsDocumentType("id_document"));
+        assertTrue(rule.acceptsDocumentType("PHOTO"));
+        assertFalse(rule.acceptsDocumentType("payslip"));
+        assertTrue(registry.getRule("Birth Certificate").acceptsDocumentType("anything"));
+    }
+
+    private Service service(String name, String prefix, String initialStep, Integer processingTimeDays) {
+        Service service = new Service();
+        service.setServiceName(name);
+        service.setReferencePrefix(prefix);
+        service.setInitialStep(initialStep);
+        service.setProcessingTimeDays(processingTimeDays);
+        return service;
+    }
+}